@@ -0,0 +1,76 @@
+package org.oleg.dictionary.benchmark;
+
+import org.oleg.dictionary.DictionaryApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application against an in-memory H2 database filled with a synthetic dictionary.
+ * The words are inserted before the application is ready, so the in-memory indexes are loaded from them
+ * exactly as in production. The cache is disabled, so that every call measures the real query path.
+ */
+@State(Scope.Benchmark)
+public class DictionaryState {
+
+	/**
+	 * The number of words in the dictionary.
+	 */
+	@Param({"10000", "100000", "1000000"})
+	public int rows;
+
+	/**
+	 * Whether searches are served by the trigram index or by the database.
+	 */
+	@Param({"true", "false"})
+	public boolean searchIndex;
+
+	/**
+	 * Whether filters and statistics are served by the columnar snapshot or by the database.
+	 */
+	@Param({"false", "true"})
+	public boolean columnar;
+
+	ConfigurableApplicationContext context;
+
+	/**
+	 * Starts the application. The settings are passed as command line arguments, because default properties
+	 * would be overridden by {@code application.properties}.
+	 */
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(DictionaryApplication.class)
+				.web(WebApplicationType.NONE)
+				.initializers(context -> context.getBeanFactory().registerSingleton("benchmarkData",
+						(ApplicationRunner) args -> WordGenerator.insert(context.getBean(JdbcTemplate.class), rows)))
+				.run(
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.jpa.hibernate.ddl-auto=validate",
+						"--spring.jpa.show-sql=false",
+						"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+						"--spring.flyway.locations=classpath:db/migration/{vendor}",
+						"--dictionary.cache.enabled=false",
+						"--dictionary.search.index.enabled=" + searchIndex,
+						"--dictionary.columnar.enabled=" + columnar,
+						"--logging.level.root=WARN");
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	<T> T bean(Class<T> type) {
+		return context.getBean(type);
+	}
+}
@@ -0,0 +1,108 @@
+package org.oleg.dictionary.benchmark;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.KeysetPage;
+import org.oleg.dictionary.model.ListOptions;
+import org.oleg.dictionary.model.RepeatPolicy;
+import org.oleg.dictionary.model.SampleWeight;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.service.FinnishWordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the read paths of {@link FinnishWordService}. Write paths are left out,
+ * because they would change the data the other benchmarks measure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class FinnishWordServiceBenchmark {
+
+	private static final WordFilter FILTER = new WordFilter(null, 2, null, 1000, null, "verb", null, null);
+
+	private static final ListOptions PAGE = new ListOptions(null, null, 100, null);
+
+	private static final ListOptions SUMMARY_PAGE = new ListOptions(null, null, 100, "summary");
+
+	private FinnishWordService service;
+
+	@Setup
+	public void setUp(DictionaryState state) {
+		service = state.bean(FinnishWordService.class);
+	}
+
+	@Benchmark
+	public Page<FinnishWord> filterWordsPage() {
+		return service.filterWords(FILTER, PageRequest.of(0, 100, Sort.by("id")));
+	}
+
+	@Benchmark
+	public KeysetPage<?> filterWordsKeyset() {
+		return service.filterWords(FILTER, PAGE);
+	}
+
+	@Benchmark
+	public KeysetPage<?> filterWordsSummary() {
+		return service.filterWords(FILTER, SUMMARY_PAGE);
+	}
+
+	@Benchmark
+	public WordFacets getFacets() {
+		return service.getFacets(FILTER);
+	}
+
+	@Benchmark
+	public Map<String, Object> getWordsStatistics() {
+		return service.getWordsStatistics();
+	}
+
+	@Benchmark
+	public List<FinnishWord> getWordsByLevelWithOldestRepeat() {
+		return service.getWordsByLevelWithOldestRepeat(3);
+	}
+
+	@Benchmark
+	public KeysetPage<?> getWordsForRepetition() {
+		return service.getWordsForRepetition(3, RepeatPolicy.INTERVAL, PAGE);
+	}
+
+	@Benchmark
+	public List<FinnishWord> sampleWords() {
+		return service.sampleWords(FILTER, 20, SampleWeight.LEVEL, null);
+	}
+
+	@Benchmark
+	public List<FinnishWord> searchByWord() {
+		return service.searchByWord("kala", true, 50);
+	}
+
+	@Benchmark
+	public List<FinnishWord> searchByTranslation() {
+		return service.searchByTranslation("read", false, 50);
+	}
+
+	@Benchmark
+	public KeysetPage<?> getWords() {
+		return service.getWords(PAGE);
+	}
+}
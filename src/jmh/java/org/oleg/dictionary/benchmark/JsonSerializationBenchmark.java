@@ -0,0 +1,67 @@
+package org.oleg.dictionary.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.oleg.dictionary.model.FinnishWord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of serialising lists of words to JSON, configured like the object mapper of the application.
+ * No database is involved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	public int size;
+
+	private ObjectWriter writer;
+	private List<FinnishWord> words;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, FinnishWord.class));
+		WordGenerator generator = new WordGenerator(42, LocalDate.now());
+		words = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			FinnishWord word = generator.next();
+			word.setId((long) i + 1);
+			words.add(word);
+		}
+	}
+
+	@Benchmark
+	public byte[] toBytes() throws JsonProcessingException {
+		return writer.writeValueAsBytes(words);
+	}
+
+	@Benchmark
+	public void toStream() throws IOException {
+		writer.writeValue(OutputStream.nullOutputStream(), words);
+	}
+}
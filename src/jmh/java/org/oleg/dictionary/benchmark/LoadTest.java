@@ -0,0 +1,260 @@
+package org.oleg.dictionary.benchmark;
+
+import org.oleg.dictionary.DictionaryApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test comparing the execution models: Tomcat's platform thread pool without and with the bulkhead
+ * ({@code platform}, {@code bulkhead}), and the {@code virtual-threads} profile, virtual threads behind the bulkhead.
+ * <p>
+ * Each mode starts the application on a random port against an in-memory H2 database filled with a synthetic
+ * dictionary. Every query waits for an additional simulated database latency, so that request threads block
+ * like they do on a remote PostgreSQL. A fixed number of closed-loop clients then send a mix of word, filter
+ * and repetition requests, and the throughput and latency percentiles of the measurement phase are reported.
+ * The {@code virtual-threads} mode needs Java 21 or later and is skipped on older versions.
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=org.oleg.dictionary.benchmark.LoadTest \
+ *     -Dbenchmark.args="rows=100000 clients=400 latency=5 warmup=5 duration=20"
+ * </pre>
+ */
+public final class LoadTest {
+
+	private static final List<String> MODES = List.of("platform", "bulkhead", "virtual-threads");
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Expected key=value, got " + arg);
+			}
+			options.put(arg.substring(0, separator), arg.substring(separator + 1));
+		}
+		int rows = Integer.parseInt(options.getOrDefault("rows", "100000"));
+		int clients = Integer.parseInt(options.getOrDefault("clients", "400"));
+		long latencyMillis = Long.parseLong(options.getOrDefault("latency", "5"));
+		Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+		Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+		List<String> modes = options.containsKey("modes") ? List.of(options.get("modes").split(",")) : MODES;
+
+		List<String> results = new ArrayList<>();
+		for (String mode : modes) {
+			if (mode.equals("virtual-threads") && Runtime.version().feature() < 21) {
+				results.add(String.format("%-16s skipped, needs Java 21 (running on %d)", mode,
+						Runtime.version().feature()));
+				continue;
+			}
+			try (ConfigurableApplicationContext context = start(mode, rows, latencyMillis)) {
+				int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+				run(port, rows, clients, warmup);
+				results.add(String.format("%-16s %s", mode, run(port, rows, clients, duration)));
+			}
+		}
+		System.out.printf("%n%d words, %d clients, %d ms query latency, %d s measured%n",
+				rows, clients, latencyMillis, duration.toSeconds());
+		System.out.printf("%-16s %10s %8s %8s %8s %8s %8s%n", "mode", "requests/s", "p50 ms", "p99 ms", "max ms",
+				"503", "errors");
+		results.forEach(System.out::println);
+	}
+
+	/**
+	 * Starts the application in the given mode. The settings are passed as command line arguments, because
+	 * default properties would be overridden by {@code application.properties}.
+	 */
+	private static ConfigurableApplicationContext start(String mode, int rows, long latencyMillis) {
+		List<String> arguments = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--dictionary.cache.enabled=false",
+				"--logging.level.root=WARN"));
+		switch (mode) {
+			case "platform" -> arguments.add("--dictionary.bulkhead.enabled=false");
+			case "bulkhead" -> arguments.add("--dictionary.bulkhead.enabled=true");
+			case "virtual-threads" -> arguments.add("--spring.profiles.active=virtual-threads");
+			default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+		}
+		return new SpringApplicationBuilder(DictionaryApplication.class)
+				.initializers(context -> {
+					context.getBeanFactory().registerSingleton("loadTestData",
+							(ApplicationRunner) args -> WordGenerator.insert(context.getBean(JdbcTemplate.class), rows));
+					context.getBeanFactory().addBeanPostProcessor(queryLatency(latencyMillis));
+				})
+				.run(arguments.toArray(new String[0]));
+	}
+
+	private static Result run(int port, int rows, int clients, Duration duration) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(executor)
+				.build();
+		long end = System.nanoTime() + duration.toNanos();
+		CountDownLatch done = new CountDownLatch(clients);
+		List<Client> loops = new ArrayList<>(clients);
+		for (int i = 0; i < clients; i++) {
+			Client loop = new Client(client, "http://localhost:" + port, rows, end, new SplittableRandom(i), done);
+			loops.add(loop);
+			loop.next();
+		}
+		done.await();
+		executor.shutdownNow();
+
+		long[] latencies = loops.stream().flatMapToLong(loop -> loop.latencies.stream().mapToLong(Long::longValue))
+				.sorted().toArray();
+		long rejected = loops.stream().mapToLong(loop -> loop.rejected).sum();
+		long errors = loops.stream().mapToLong(loop -> loop.errors).sum();
+		return new Result(latencies, rejected, errors, duration);
+	}
+
+	/**
+	 * Wraps the data source so that every query waits for the given time before it is executed.
+	 */
+	private static BeanPostProcessor queryLatency(long millis) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource dataSource) || millis <= 0) {
+					return bean;
+				}
+				return new DelegatingDataSource(dataSource) {
+					@Override
+					public Connection getConnection() throws SQLException {
+						Connection connection = super.getConnection();
+						return (Connection) Proxy.newProxyInstance(LoadTest.class.getClassLoader(),
+								new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+									Object result = invoke(connection, method, args);
+									return result instanceof Statement statement
+											? delayed(method.getReturnType(), statement, millis) : result;
+								});
+					}
+				};
+			}
+		};
+	}
+
+	private static Object delayed(Class<?> type, Statement statement, long millis) {
+		return Proxy.newProxyInstance(LoadTest.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+			if (method.getName().equals("executeQuery")) {
+				Thread.sleep(millis);
+			}
+			return invoke(statement, method, args);
+		});
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * A client that sends its next request as soon as the previous one has been answered.
+	 */
+	private static final class Client {
+
+		private final HttpClient client;
+		private final String baseUrl;
+		private final int rows;
+		private final long end;
+		private final SplittableRandom random;
+		private final CountDownLatch done;
+		private final List<Long> latencies = new ArrayList<>();
+		private long rejected;
+		private long errors;
+
+		private Client(HttpClient client, String baseUrl, int rows, long end, SplittableRandom random,
+					   CountDownLatch done) {
+			this.client = client;
+			this.baseUrl = baseUrl;
+			this.rows = rows;
+			this.end = end;
+			this.random = random;
+			this.done = done;
+		}
+
+		private void next() {
+			if (System.nanoTime() >= end) {
+				done.countDown();
+				return;
+			}
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path()))
+					.timeout(Duration.ofSeconds(60))
+					.build();
+			long start = System.nanoTime();
+			client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+				long latency = System.nanoTime() - start;
+				if (error != null || response.statusCode() >= 500 && response.statusCode() != 503) {
+					errors++;
+				} else if (response.statusCode() == 503) {
+					rejected++;
+				} else {
+					latencies.add(latency);
+				}
+				next();
+			});
+		}
+
+		private String path() {
+			int level = random.nextInt(10);
+			return switch (random.nextInt(3)) {
+				case 0 -> "/api/words/" + (1 + random.nextInt(rows));
+				case 1 -> "/api/words/filter?level=" + level + "&size=20";
+				default -> "/api/words/repeat?level=" + level + "&policy=interval&limit=20";
+			};
+		}
+	}
+
+	private record Result(long[] latencies, long rejected, long errors, Duration duration) {
+
+		@Override
+		public String toString() {
+			return String.format("%10.0f %8.1f %8.1f %8.1f %8d %8d",
+					latencies.length / (double) duration.toSeconds(),
+					percentile(0.50), percentile(0.99),
+					latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0.0,
+					rejected, errors);
+		}
+
+		private double percentile(double p) {
+			if (latencies.length == 0) {
+				return 0;
+			}
+			return latencies[(int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1)] / 1e6;
+		}
+	}
+}
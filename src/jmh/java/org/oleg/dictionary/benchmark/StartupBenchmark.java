@@ -0,0 +1,179 @@
+package org.oleg.dictionary.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Startup benchmark measuring the time from launching the JVM until the first request is answered, for the
+ * plain application and for the {@code fast-startup} mode (Spring AOT, a class-data-sharing archive and lazy
+ * initialisation).
+ * <p>
+ * Every run starts a new JVM against an empty in-memory H2 database and polls {@code GET /api/words/stats}
+ * until it succeeds. The application classes are packed into a JAR first, because class-data sharing does not
+ * archive classes loaded from directories. The CDS archive is recorded by one training run before the measured
+ * runs of the fast mode. The AOT classes have to be generated by building with the {@code fast-startup} profile:
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark,fast-startup test-compile exec:exec -Dbenchmark.main=org.oleg.dictionary.benchmark.StartupBenchmark \
+ *     -Dbenchmark.args="runs=5"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+	private static final List<String> MODES = List.of("default", "fast-startup");
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+	private StartupBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Expected key=value, got " + arg);
+			}
+			options.put(arg.substring(0, separator), arg.substring(separator + 1));
+		}
+		int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+		List<String> modes = options.containsKey("modes") ? List.of(options.get("modes").split(",")) : MODES;
+		Path work = Path.of(options.getOrDefault("dir", "target/startup-benchmark"));
+		Files.createDirectories(work);
+
+		Path classes = Path.of("target/classes");
+		if (modes.contains("fast-startup")
+				&& !Files.exists(classes.resolve("org/oleg/dictionary/DictionaryApplication__ApplicationContextInitializer.class"))) {
+			throw new IllegalStateException("No AOT classes in " + classes + ", build with -Pfast-startup");
+		}
+		String classPath = classPath(classes, work.resolve("application.jar"));
+		Path archive = work.resolve("application.jsa");
+
+		List<String> results = new ArrayList<>();
+		for (String mode : modes) {
+			if (mode.equals("fast-startup")) {
+				Files.deleteIfExists(archive);
+				launch(classPath, mode, archive, true, "--server.port=0").waitFor();
+			}
+			long[] millis = new long[runs];
+			for (int i = 0; i < runs; i++) {
+				millis[i] = timeToFirstRequest(classPath, mode, archive);
+				System.out.printf("%-16s run %d: %d ms%n", mode, i + 1, millis[i]);
+			}
+			Arrays.sort(millis);
+			results.add(String.format("%-16s %8d %8d %8d", mode, millis[0], millis[runs / 2], millis[runs - 1]));
+		}
+		System.out.printf("%nTime to first request, %d runs per mode%n", runs);
+		System.out.printf("%-16s %8s %8s %8s%n", "mode", "min ms", "p50 ms", "max ms");
+		results.forEach(System.out::println);
+	}
+
+	/**
+	 * Starts the application and returns the milliseconds until {@code /api/words/stats} answers successfully.
+	 */
+	private static long timeToFirstRequest(String classPath, String mode, Path archive) throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/words/stats")).build();
+
+		long start = System.nanoTime();
+		Process process = launch(classPath, mode, archive, false, "--server.port=" + port);
+		try {
+			while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException(mode + " exited with status " + process.exitValue());
+				}
+				try {
+					if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+						return (System.nanoTime() - start) / 1_000_000;
+					}
+				} catch (ConnectException e) {
+					// Not listening yet
+				}
+				Thread.sleep(5);
+			}
+			throw new IllegalStateException(mode + " did not answer within " + TIMEOUT.toSeconds() + " s");
+		} finally {
+			process.destroy();
+			process.waitFor();
+		}
+	}
+
+	private static Process launch(String classPath, String mode, Path archive, boolean training, String... arguments)
+			throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		if (mode.equals("fast-startup")) {
+			command.add((training ? "-XX:ArchiveClassesAtExit=" : "-XX:SharedArchiveFile=") + archive);
+			command.add("-Dspring.aot.enabled=true");
+			if (training) {
+				command.add("-Dspring.context.exit=onRefresh");
+			}
+		}
+		command.addAll(List.of("-cp", classPath, "org.oleg.dictionary.DictionaryApplication",
+				"--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--logging.level.root=WARN"));
+		if (!mode.equals("default")) {
+			command.add("--spring.profiles.active=" + mode);
+		}
+		command.addAll(List.of(arguments));
+		return new ProcessBuilder(command).inheritIO().start();
+	}
+
+	/**
+	 * Packs the application classes into a JAR and returns a class path of that JAR and the dependency JARs
+	 * of the current class path.
+	 */
+	private static String classPath(Path classes, Path jar) throws IOException {
+		try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar));
+			 Stream<Path> files = Files.walk(classes)) {
+			files.filter(file -> !file.equals(classes)).forEach(file -> {
+				String name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+				try {
+					// Component scanning only finds the classes of packages that have a directory entry
+					if (Files.isDirectory(file)) {
+						output.putNextEntry(new JarEntry(name + "/"));
+					} else {
+						output.putNextEntry(new JarEntry(name));
+						Files.copy(file, output);
+					}
+					output.closeEntry();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+		List<String> entries = new ArrayList<>();
+		entries.add(jar.toAbsolutePath().toString());
+		for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+			if (entry.endsWith(".jar")) {
+				entries.add(entry);
+			}
+		}
+		return String.join(File.pathSeparator, entries);
+	}
+}
@@ -0,0 +1,155 @@
+package org.oleg.dictionary.benchmark;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a reproducible synthetic dictionary whose value distributions resemble the real one:
+ * most words sit at low levels, repeat dates cluster in the recent past, a few categories and sources
+ * cover most words, and frequency ranks follow a Zipf-like curve.
+ */
+final class WordGenerator {
+
+	static final List<String> CATEGORIES = List.of("verb", "noun", "adjective", "adverb", "phrase", "pronoun",
+			"numeral", "conjunction", "postposition", "interjection");
+
+	static final List<String> SOURCES = List.of("kielikoulu", "yle", "book", "podcast", "wiktionary", "work",
+			"course", "friend");
+
+	private static final String[] SYLLABLES = {"ka", "ta", "la", "mi", "ne", "su", "ko", "pu", "hä", "vä", "ri",
+			"tö", "jo", "se", "an", "ki", "ma", "nen", "lu", "ää", "sy", "ol", "ti", "va", "kaa", "on", "uu", "ys"};
+
+	private static final String[] ENDINGS = {"", "", "a", "ä", "nen", "inen", "la", "lä", "ja", "ta", "us", "ys"};
+
+	private static final String[] ENGLISH = {"house", "to go", "water", "beautiful", "quickly", "friend", "to read",
+			"forest", "winter", "work", "small", "to think", "bread", "lake", "to understand", "always", "city",
+			"cold", "to buy", "book", "evening", "strong", "to remember", "road", "light", "together", "summer"};
+
+	private static final int INSERT_BATCH_SIZE = 5_000;
+
+	private final SplittableRandom random;
+	private final LocalDate today;
+
+	WordGenerator(long seed, LocalDate today) {
+		this.random = new SplittableRandom(seed);
+		this.today = today;
+	}
+
+	/**
+	 * @return the next generated word, without an ID
+	 */
+	FinnishWord next() {
+		FinnishWord word = new FinnishWord();
+		int level = level();
+		word.setLevel(level);
+		word.setDateAdded(today.minusDays(random.nextInt(730)));
+		// New words have not been repeated yet; the others were repeated mostly within the last weeks
+		if (level > 0) {
+			word.setDateRepeated(today.minusDays(Math.min(365, (long) skewed(60))));
+		}
+		word.setWord(finnishWord());
+		word.setTranslation(translation());
+		word.setCategory(CATEGORIES.get(skewed(CATEGORIES.size())));
+		if (random.nextInt(4) == 0) {
+			word.setCategory2(CATEGORIES.get(random.nextInt(CATEGORIES.size())));
+		}
+		word.setSource(SOURCES.get(skewed(SOURCES.size())));
+		word.setPopularity(1 + skewed(5));
+		word.setRepeatAgain(random.nextInt(10) == 0 ? 1 : 0);
+		word.setFrequency(zipf(10_000));
+		if (random.nextInt(3) == 0) {
+			word.setExample(word.getWord() + " " + finnishWord() + " " + finnishWord() + ".");
+		}
+		if (random.nextInt(5) == 0) {
+			word.setSynonyms(finnishWord() + ", " + finnishWord());
+		}
+		return word;
+	}
+
+	private int level() {
+		// Roughly a third of the words have not been studied yet
+		if (random.nextInt(3) == 0) {
+			return 0;
+		}
+		return 1 + skewed(10);
+	}
+
+	private String finnishWord() {
+		StringBuilder builder = new StringBuilder();
+		int syllables = 2 + random.nextInt(3);
+		for (int i = 0; i < syllables; i++) {
+			builder.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		return builder.append(ENDINGS[random.nextInt(ENDINGS.length)]).toString();
+	}
+
+	private String translation() {
+		String translation = ENGLISH[random.nextInt(ENGLISH.length)];
+		return random.nextInt(3) == 0 ? translation + ", " + ENGLISH[random.nextInt(ENGLISH.length)] : translation;
+	}
+
+	/**
+	 * @return a value in {@code [0, bound)}, with smaller values being more likely
+	 */
+	private int skewed(int bound) {
+		double u = random.nextDouble();
+		return (int) (bound * u * u);
+	}
+
+	/**
+	 * @return a rank in {@code [1, n]} following an approximate Zipf distribution
+	 */
+	private int zipf(int n) {
+		return (int) Math.min(n, Math.floor(Math.pow(n + 1, random.nextDouble())));
+	}
+
+	/**
+	 * Inserts a reproducible synthetic dictionary in JDBC batches.
+	 *
+	 * @param jdbcTemplate the template of the database to fill
+	 * @param rows         the number of words
+	 */
+	static void insert(JdbcTemplate jdbcTemplate, int rows) {
+		WordGenerator generator = new WordGenerator(42, LocalDate.now());
+		List<FinnishWord> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+		for (int i = 0; i < rows; i++) {
+			batch.add(generator.next());
+			if (batch.size() == INSERT_BATCH_SIZE || i == rows - 1) {
+				jdbcTemplate.batchUpdate("insert into finnish_dictionary (date_added, date_repeated, level, word, "
+								+ "translation, category, category2, source, popularity, repeat_again, example, synonyms, "
+								+ "frequency) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+						batch, batch.size(), WordGenerator::bind);
+				batch.clear();
+			}
+		}
+	}
+
+	private static void bind(PreparedStatement ps, FinnishWord word) throws SQLException {
+		ps.setDate(1, Date.valueOf(word.getDateAdded()));
+		if (word.getDateRepeated() != null) {
+			ps.setDate(2, Date.valueOf(word.getDateRepeated()));
+		} else {
+			ps.setNull(2, Types.DATE);
+		}
+		ps.setInt(3, word.getLevel());
+		ps.setString(4, word.getWord());
+		ps.setString(5, word.getTranslation());
+		ps.setString(6, word.getCategory());
+		ps.setString(7, word.getCategory2());
+		ps.setString(8, word.getSource());
+		ps.setInt(9, word.getPopularity());
+		ps.setInt(10, word.getRepeatAgain());
+		ps.setString(11, word.getExample());
+		ps.setString(12, word.getSynonyms());
+		ps.setInt(13, word.getFrequency());
+	}
+}
@@ -0,0 +1,217 @@
+package org.oleg.dictionary.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.oleg.dictionary.index.WordChangeListener;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache in front of the database.
+ * <p>
+ * Words are cached by ID; query results are cached under a key that includes the current write generation.
+ * Every write advances the generation, so query results computed before the write are never served again,
+ * and invalidates exactly the written words. A load that overlaps a write is not stored, which prevents
+ * a value read before the write from being cached after it. Writes inside a transaction are reported by the
+ * {@link org.oleg.dictionary.index.WordChangeDispatcher} after the commit, when a load can no longer see the old row.
+ * Both caches use Caffeine's size-bounded
+ * W-TinyLFU eviction and expire entries after a configurable time to live.
+ * </p>
+ */
+@Component
+public class WordCache implements WordChangeListener {
+
+    private final boolean enabled;
+    private final Cache<Long, FinnishWord> words;
+    private final Cache<QueryKey, Object> queries;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates the cache.
+     *
+     * @param enabled         whether values should be cached at all
+     * @param maxWords        the maximum number of cached words
+     * @param maxQueries      the maximum number of cached query results
+     * @param timeToLive      how long a value stays cached after it has been loaded
+     */
+    public WordCache(@Value("${dictionary.cache.enabled:true}") boolean enabled,
+                     @Value("${dictionary.cache.words.maximum-size:10000}") long maxWords,
+                     @Value("${dictionary.cache.queries.maximum-size:1000}") long maxQueries,
+                     @Value("${dictionary.cache.time-to-live:10m}") Duration timeToLive) {
+        this.enabled = enabled;
+        this.words = Caffeine.newBuilder()
+                .maximumSize(maxWords)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.queries = Caffeine.newBuilder()
+                .maximumSize(maxQueries)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns a word from the cache, loading it on a miss.
+     *
+     * @param id     the ID of the word
+     * @param loader loads the word from the database
+     * @return the word, or empty if it does not exist
+     */
+    public Optional<FinnishWord> getWord(Long id, Function<Long, Optional<FinnishWord>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        FinnishWord cached = words.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadGeneration = generation.get();
+        Optional<FinnishWord> loaded = loader.apply(id);
+        if (loaded.isPresent() && generation.get() == loadGeneration) {
+            words.put(id, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns several words from the cache, loading all misses with one call of the loader.
+     *
+     * @param ids    the IDs of the words
+     * @param loader loads the words with the given IDs from the database
+     * @return the existing words, in the order of the IDs
+     */
+    public List<FinnishWord> getWords(List<Long> ids, Function<List<Long>, List<FinnishWord>> loader) {
+        Map<Long, FinnishWord> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        if (enabled) {
+            found.putAll(words.getAllPresent(ids));
+            for (Long id : ids) {
+                if (!found.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+        } else {
+            missing.addAll(ids);
+        }
+
+        if (!missing.isEmpty()) {
+            long loadGeneration = generation.get();
+            Map<Long, FinnishWord> loaded = new LinkedHashMap<>();
+            for (FinnishWord word : loader.apply(missing)) {
+                loaded.put(word.getId(), word);
+            }
+            if (enabled && generation.get() == loadGeneration) {
+                words.putAll(loaded);
+            }
+            found.putAll(loaded);
+        }
+
+        List<FinnishWord> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            FinnishWord word = found.get(id);
+            if (word != null) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a query result from the cache, computing it on a miss.
+     * Results are only reused until the next write to the dictionary.
+     *
+     * @param key    the key identifying the query and its parameters; must implement {@code equals} and {@code hashCode}
+     * @param loader computes the result
+     * @param <T>    the type of the result
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getQuery(Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (T) queries.get(new QueryKey(generation.get(), key), k -> loader.get());
+    }
+
+    /**
+     * @return the hit, miss and eviction statistics of the word cache and the query cache
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        statistics.put("words", describe(words));
+        statistics.put("queries", describe(queries));
+        return statistics;
+    }
+
+    /**
+     * @return the word cache, for instrumentation
+     */
+    public Cache<Long, FinnishWord> getWordCache() {
+        return words;
+    }
+
+    /**
+     * @return the query cache, for instrumentation
+     */
+    public Cache<?, ?> getQueryCache() {
+        return queries;
+    }
+
+    @Override
+    public boolean requiresInitialLoad() {
+        return false;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        invalidate(List.of(word.getId()));
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        invalidate(List.of(id));
+    }
+
+    @Override
+    public void wordsUpgraded(List<LevelChange> changes) {
+        invalidate(changes.stream().map(LevelChange::id).toList());
+    }
+
+    private void invalidate(Collection<Long> ids) {
+        generation.incrementAndGet();
+        words.invalidateAll(ids);
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.estimatedSize());
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictionCount", stats.evictionCount());
+        return description;
+    }
+
+    /**
+     * Key of a cached query result: the query key tagged with the write generation it was computed in.
+     */
+    private record QueryKey(long generation, Object key) {
+    }
+}
@@ -0,0 +1,16 @@
+package org.oleg.dictionary.changes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One change of the dictionary as published on the change feed.
+ *
+ * @param sequence the position of the change in the feed; consecutive changes have consecutive numbers
+ * @param type     {@code insert}, {@code update}, {@code upgrade} or {@code delete}
+ * @param id       the ID of the changed word
+ * @param data     the version and summary fields of the word for {@code insert} and {@code update}, the new
+ *                 {@code level} and {@code dateRepeated} for {@code upgrade}, and nothing for {@code delete}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEvent(long sequence, String type, long id, Object data) {
+}
@@ -0,0 +1,326 @@
+package org.oleg.dictionary.changes;
+
+import org.oleg.dictionary.index.WordChangeListener;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent events feed of the changes made to the dictionary.
+ * <p>
+ * Every change is appended to a bounded {@link ChangeLog} under a monotonic sequence number. The SSE event ID
+ * combines the sequence number with the start time of the feed, so a client that reconnects with its last event ID
+ * receives exactly the changes it missed. If those are no longer in the log, or the server has been restarted since,
+ * the client receives a {@code reset} event and has to reload the dictionary before applying further changes.
+ * </p>
+ * <p>
+ * Subscribers are open asynchronous requests that only hold their position in the log, so idle subscribers
+ * cost no threads. Changes are published by the {@link org.oleg.dictionary.index.WordChangeDispatcher} after their
+ * transaction has committed, so a client never sees a change that was rolled back. Inserted and updated words are
+ * sent with their ID, version and summary fields only; clients fetch the long text fields when they need them.
+ * </p>
+ * <p>
+ * Each subscriber is written to by at most one task of a small writer pool ({@code dictionary.changes.writer-threads})
+ * at a time. A subscriber whose write has been blocked for longer than {@code dictionary.changes.send-timeout} is
+ * dropped and receives no further events; it is completed as soon as the blocked write returns, and can reconnect
+ * and resume from its last event. A blocked write holds its writer thread until the connection fails or drains,
+ * so the pool size bounds the number of stalled clients that can delay the others. A heartbeat comment is sent
+ * periodically to detect closed connections.
+ * </p>
+ */
+@Component
+public class ChangeFeed implements WordChangeListener, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private static final int SEND_BATCH_SIZE = 500;
+
+    private final ChangeLog changeLog;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final long sendTimeoutNanos;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor writers;
+
+    /**
+     * Creates the feed.
+     *
+     * @param capacity      the number of most recent changes kept for reconnecting clients
+     * @param heartbeat     the interval between heartbeat comments
+     * @param sendTimeout   the time a write to a subscriber may block before the subscriber is dropped
+     * @param writerThreads the number of threads writing to subscribers
+     */
+    public ChangeFeed(@Value("${dictionary.changes.buffer-size:10000}") int capacity,
+                      @Value("${dictionary.changes.heartbeat:25s}") Duration heartbeat,
+                      @Value("${dictionary.changes.send-timeout:10s}") Duration sendTimeout,
+                      @Value("${dictionary.changes.writer-threads:4}") int writerThreads) {
+        this.changeLog = new ChangeLog(capacity);
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        // Each subscriber has at most one queued task, so the queue is bounded by the number of subscribers
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        writers.allowCoreThreadTimeOut(true);
+        timer.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        long check = Math.max(1, sendTimeout.toMillis() / 2);
+        timer.scheduleWithFixedDelay(this::dropStalledSubscribers, check, check, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes to the feed.
+     *
+     * @param lastEventId the ID of the last event the client has received, or {@code null} to receive only
+     *                    changes made from now on
+     * @param timeout     the time after which the subscription is closed, or {@code null} for the default
+     *                    asynchronous request timeout; clients are expected to reconnect
+     * @return the emitter to return from the request handler
+     */
+    public SseEmitter subscribe(String lastEventId, Long timeout) {
+        return subscribe(new SseEmitter(timeout), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, resumePosition(lastEventId));
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.put(emitter, subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * @return the number of open subscriptions
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public boolean requiresInitialLoad() {
+        return false;
+    }
+
+    @Override
+    public void wordCreated(FinnishWord word) {
+        publish("insert", word.getId(), summary(word));
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        publish("update", word.getId(), summary(word));
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        publish("delete", id, null);
+    }
+
+    @Override
+    public void wordsUpgraded(List<LevelChange> changes) {
+        for (LevelChange change : changes) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("level", change.newLevel());
+            data.put("dateRepeated", change.dateRepeated());
+            publish("upgrade", change.id(), data);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the version and summary fields of a word, as returned for {@code fields=summary}.
+     */
+    private static Map<String, Object> summary(FinnishWord word) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", word.getId());
+        data.put("version", word.getVersion());
+        data.put("word", word.getWord());
+        data.put("level", word.getLevel());
+        data.put("dateAdded", word.getDateAdded());
+        data.put("dateRepeated", word.getDateRepeated());
+        data.put("category", word.getCategory());
+        data.put("category2", word.getCategory2());
+        data.put("source", word.getSource());
+        data.put("popularity", word.getPopularity());
+        data.put("repeatAgain", word.getRepeatAgain());
+        data.put("frequency", word.getFrequency());
+        return data;
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        writers.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    private void publish(String type, long id, Object data) {
+        changeLog.append(type, id, data);
+        subscribers.values().forEach(Subscriber::schedule);
+    }
+
+    /**
+     * Returns the sequence number to resume after, or -1 if the client has to reload the dictionary.
+     */
+    private long resumePosition(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return changeLog.lastSequence();
+        }
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            long sequence = Long.parseLong(lastEventId.substring(separator + 1));
+            return sequence <= changeLog.lastSequence() ? sequence : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.heartbeatDue = true;
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * Drops the subscribers whose current write has been blocked for longer than the send timeout.
+     * Completing the emitter would wait for the blocked write, so the writer completes it once the write returns.
+     */
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            long started = subscriber.sendStarted;
+            if (started != 0 && now - started > sendTimeoutNanos && subscribers.remove(subscriber.emitter) != null) {
+                log.debug("Dropping change feed subscription blocked for more than {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            }
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            writers.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * An open subscription and the sequence number of the last event sent to it.
+     * Its events are written by one writer task at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean heartbeatDue;
+        private volatile long sendStarted;
+        // Accessed by the writer task only
+        private long position;
+
+        private Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        /**
+         * Starts a writer task for the subscriber unless one is running; a running task picks up the new work.
+         */
+        private void schedule() {
+            if (work.getAndIncrement() == 0) {
+                execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    if (!send(SseEmitter.event().comment("heartbeat"))) {
+                        return;
+                    }
+                }
+                while (subscribers.containsKey(emitter) && sendPending()) {
+                    // Keep sending until the subscriber has caught up
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Sends the next batch of events after the position of the subscriber.
+         *
+         * @return {@code true} if further events are waiting
+         */
+        private boolean sendPending() {
+            List<ChangeEvent> events = position >= 0 ? changeLog.after(position, SEND_BATCH_SIZE) : null;
+            if (events == null) {
+                // The missed events are gone: the client has to reload and continue from the latest change
+                position = changeLog.lastSequence();
+                send(SseEmitter.event().name("reset").id(eventId(position)).data(Map.of("sequence", position)));
+                return false;
+            }
+            for (ChangeEvent event : events) {
+                if (!send(SseEmitter.event().name(event.type()).id(eventId(event.sequence())).data(event))) {
+                    return false;
+                }
+                position = event.sequence();
+            }
+            return events.size() == SEND_BATCH_SIZE;
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            sendStarted = System.nanoTime();
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing change feed subscription: {}", e.getMessage());
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+                return false;
+            } finally {
+                sendStarted = 0;
+            }
+            if (!subscribers.containsKey(emitter)) {
+                // Dropped while the write was blocked, or already completed
+                emitter.complete();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+}
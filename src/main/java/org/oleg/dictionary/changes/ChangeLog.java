@@ -0,0 +1,66 @@
+package org.oleg.dictionary.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring buffer of the most recent change events, numbered with a monotonic sequence.
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+class ChangeLog {
+
+    private final ChangeEvent[] events;
+    private long lastSequence;
+
+    /**
+     * Creates an empty log.
+     *
+     * @param capacity the number of most recent events that are kept
+     */
+    ChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The change log capacity must be positive");
+        }
+        this.events = new ChangeEvent[capacity];
+    }
+
+    /**
+     * Appends an event under the next sequence number, overwriting the oldest event once the log is full.
+     *
+     * @return the appended event
+     */
+    synchronized ChangeEvent append(String type, long id, Object data) {
+        ChangeEvent event = new ChangeEvent(++lastSequence, type, id, data);
+        events[(int) (event.sequence() % events.length)] = event;
+        return event;
+    }
+
+    /**
+     * @return the sequence number of the latest event, or 0 if there is none
+     */
+    synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the events following the given sequence number.
+     *
+     * @param sequence the sequence number of the last event already seen
+     * @param limit    the maximum number of events to return
+     * @return the following events in order, or {@code null} if some of them have already been overwritten
+     */
+    synchronized List<ChangeEvent> after(long sequence, int limit) {
+        long first = Math.max(1, lastSequence - events.length + 1);
+        if (sequence + 1 < first) {
+            return null;
+        }
+        long last = Math.min(lastSequence, sequence + limit);
+        List<ChangeEvent> result = new ArrayList<>((int) Math.max(0, last - sequence));
+        for (long next = sequence + 1; next <= last; next++) {
+            result.add(events[(int) (next % events.length)]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package org.oleg.dictionary.changes;
+
+import org.oleg.dictionary.index.WordChangeListener;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dictionary-wide version that advances on every write.
+ * <p>
+ * Responses derived from the dictionary as a whole can be validated against the version instead of
+ * being recomputed: the entity tag combines the start time of the application, the version and the
+ * current date, because several responses are relative to today. The tag is weak, because the same version
+ * is sent both plain and compressed; a strong tag would promise byte-identical bodies and keeps Tomcat from
+ * compressing the response. Writes inside a transaction advance
+ * the version only after the commit, because the dispatcher reports them then, so a response read before the
+ * commit is not tagged with the new version.
+ * </p>
+ * <p>
+ * There is deliberately no last-modified time: HTTP dates have a resolution of one second, so a response read
+ * before a write in the same second would still be reported as unmodified.
+ * </p>
+ * <p>
+ * The version lives in the memory of one instance and only sees the writes made through that instance, like the
+ * in-memory indexes, so it assumes a single application instance. Behind a load balancer with several instances
+ * the entity tags of different instances never match, because each has its own epoch, so a client is sent the full
+ * response instead of a stale {@code 304 Not Modified}. Deriving the tag from the table fingerprint instead would
+ * cost an aggregate query over the whole table for every conditional request, which is what the tag is meant to avoid.
+ * </p>
+ */
+@Component
+public class DictionaryVersion implements WordChangeListener {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long version;
+
+    /**
+     * @return the current version, starting at 0 when the application starts
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Returns the weak entity tag of the dictionary as of today.
+     *
+     * @param today the current date
+     * @return the quoted entity tag
+     */
+    public String eTag(LocalDate today) {
+        return "W/\"" + epoch + "-" + version() + "-" + today.toEpochDay() + "\"";
+    }
+
+    @Override
+    public boolean requiresInitialLoad() {
+        return false;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        advance();
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        advance();
+    }
+
+    @Override
+    public void wordsUpgraded(List<LevelChange> changes) {
+        advance();
+    }
+
+    private synchronized void advance() {
+        version++;
+    }
+}
@@ -0,0 +1,70 @@
+package org.oleg.dictionary.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oleg.dictionary.execution.BulkheadFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Configuration of the request execution model.
+ * <p>
+ * By default requests run on Tomcat's pool of platform threads, which is much larger than the connection pool.
+ * The optional bulkhead bounds the concurrency of the word endpoints to what the connection pool can serve.
+ * The {@code virtual-threads} profile serves requests on virtual threads instead ({@code spring.threads.virtual.enabled},
+ * effective when the application runs on Java 21 or later, as in the Docker images) and enables the bulkhead,
+ * which then is the only bound on the number of requests waiting for a connection.
+ * </p>
+ */
+@Configuration
+public class ExecutionConfig {
+
+    /**
+     * Endpoints that stream for a long time and would hold a bulkhead permit until they end.
+     */
+    private static final Set<String> UNBOUNDED_PATHS = Set.of("/api/words/export", "/api/words/changes");
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    /**
+     * Reports the execution model, and warns if virtual threads are requested on a Java version without them.
+     *
+     * @param virtualThreads whether virtual threads are requested
+     */
+    public ExecutionConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled requires Java 21, requests are served on platform threads on Java {}",
+                    Runtime.version().feature());
+        } else if (virtualThreads) {
+            log.info("Serving requests on virtual threads");
+        }
+    }
+
+    /**
+     * Registers the bulkhead in front of the word endpoints.
+     *
+     * @param registry      the registry to record the metrics in
+     * @param enabled       whether the bulkhead is active
+     * @param maxConcurrent the number of requests processed at the same time
+     * @param maxWait       the time a request waits for admission before it is rejected
+     * @return the filter registration, limited to the word endpoints other than the streams
+     */
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            MeterRegistry registry,
+            @Value("${dictionary.bulkhead.enabled:false}") boolean enabled,
+            @Value("${dictionary.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${dictionary.bulkhead.max-wait:2s}") Duration maxWait) {
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(registry, maxConcurrent, maxWait, UNBOUNDED_PATHS));
+        registration.addUrlPatterns("/api/words", "/api/words/*");
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
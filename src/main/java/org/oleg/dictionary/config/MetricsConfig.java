@@ -0,0 +1,85 @@
+package org.oleg.dictionary.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.oleg.dictionary.cache.WordCache;
+import org.oleg.dictionary.metrics.CountingDataSource;
+import org.oleg.dictionary.metrics.EntityCountingInterceptor;
+import org.oleg.dictionary.metrics.RequestMetricsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the hot-path metrics exposed on {@code /actuator/metrics}.
+ * Besides Spring's {@code http.server.requests} latency timer, every API request records how many SQL statements
+ * it executed, how many rows it read and how many entities it hydrated, and the caches report their hit rates.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps the data source so that statements and rows can be counted per request.
+     *
+     * @return the post-processor wrapping every {@link DataSource} bean
+     */
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                        ? new CountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the interceptor that counts hydrated entities with Hibernate.
+     *
+     * @return the customizer adding the interceptor to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityCountingInterceptor());
+    }
+
+    /**
+     * Registers the filter recording the database work of every API request.
+     *
+     * @param registry               the registry to record the metrics in
+     * @param statementWarnThreshold the number of statements above which a request is logged as a warning
+     * @return the filter registration, limited to the API
+     */
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+            MeterRegistry registry,
+            @Value("${dictionary.metrics.statement-warn-threshold:10}") int statementWarnThreshold) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(registry, statementWarnThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * Publishes the hit, miss and eviction counts of the word cache and the query cache.
+     *
+     * @param cache the cache to monitor
+     * @return the binder of the cache metrics
+     */
+    @Bean
+    public MeterBinder wordCacheMetrics(WordCache cache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, cache.getWordCache(), "words");
+            CaffeineCacheMetrics.monitor(registry, cache.getQueryCache(), "queries");
+        };
+    }
+}
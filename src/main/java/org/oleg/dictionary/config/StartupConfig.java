@@ -0,0 +1,35 @@
+package org.oleg.dictionary.config;
+
+import org.oleg.dictionary.controller.FinnishWordController;
+import org.oleg.dictionary.index.WordChangeDispatcher;
+import org.oleg.dictionary.index.WordChangeListener;
+import org.oleg.dictionary.service.FinnishWordService;
+import org.oleg.dictionary.service.SnapshotService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the startup behaviour.
+ * <p>
+ * The {@code fast-startup} profile initialises beans lazily ({@code spring.main.lazy-initialization}) and bootstraps
+ * JPA in the background. Lazy initialisation only defers work, so the beans that serve the word endpoints stay
+ * eager: otherwise the first request would pay for them. The in-memory indexes and the dispatcher loading them,
+ * and the snapshot service with its schedule, stay eager as well, because nothing would create them in time.
+ * Everything else, such as the import service, the change feed and the actuator endpoints, is created on first use.
+ * </p>
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the beans on the path of the word endpoints and the beans with background work eager.
+     *
+     * @return the filter excluding those beans from lazy initialisation
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerDictionaryBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FinnishWordController.class, FinnishWordService.class,
+                WordChangeDispatcher.class, WordChangeListener.class, SnapshotService.class);
+    }
+}
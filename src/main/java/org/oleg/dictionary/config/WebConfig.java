@@ -1,16 +1,34 @@
 package org.oleg.dictionary.config;
 
+import org.oleg.dictionary.changes.DictionaryVersion;
+import org.oleg.dictionary.controller.ConditionalRequestInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Configuration class for handling CORS (Cross-Origin Resource Sharing) settings.
  * This class implements {@link WebMvcConfigurer} to allow custom CORS mappings.
+ * It also enables Spring Data web support, so that pages are serialized as a stable JSON structure,
+ * and answers conditional requests for the read endpoints computed from the whole dictionary.
  */
 @Configuration
+@EnableSpringDataWebSupport(pageSerializationMode = EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO)
 public class WebConfig implements WebMvcConfigurer {
 
+    private final DictionaryVersion version;
+
+    /**
+     * Constructor-based dependency injection for {@link DictionaryVersion}.
+     *
+     * @param version the version used to validate cached responses
+     */
+    public WebConfig(DictionaryVersion version) {
+        this.version = version;
+    }
+
     /**
      * Configure CORS settings by allowing cross-origin requests from specific origins and methods.
      *
@@ -20,9 +38,21 @@ public class WebConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // Allow CORS requests for all endpoints.
                 .allowedOrigins("http://localhost:3000", "https://dictionary-search.onrender.com") // Add both origins.
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Specify allowed HTTP methods.
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS") // Specify allowed HTTP methods.
                 .allowedHeaders("*") // Allow all headers.
                 .allowCredentials(true); // Allow sending cookies or credentials with cross-origin requests.
     }
 
+    /**
+     * Register the conditional request handling for the read endpoints whose responses depend only on
+     * the dictionary and the current date.
+     *
+     * @param registry the {@link InterceptorRegistry} to add the interceptor to.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalRequestInterceptor(version))
+                .addPathPatterns("/api/words", "/api/words/filter", "/api/words/facets", "/api/words/stats",
+                        "/api/words/search", "/api/words/lookup", "/api/words/repeat");
+    }
 }
@@ -0,0 +1,38 @@
+package org.oleg.dictionary.controller;
+
+import org.oleg.dictionary.cache.WordCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST controller exposing the state of the read-through cache.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final WordCache cache;
+
+    /**
+     * Constructor-based dependency injection for {@link WordCache}.
+     *
+     * @param cache the cache to report on
+     */
+    public CacheController(WordCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Endpoint to get the hit, miss and eviction statistics of the cache.
+     *
+     * @return a map with the statistics of the word cache and the query cache
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getStatistics() {
+        return ResponseEntity.ok(cache.getStatistics());
+    }
+}
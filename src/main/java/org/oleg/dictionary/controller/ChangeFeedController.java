@@ -0,0 +1,47 @@
+package org.oleg.dictionary.controller;
+
+import org.oleg.dictionary.changes.ChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the changes of the dictionary as server-sent events.
+ */
+@RestController
+@RequestMapping("/api/words")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    /**
+     * Constructor-based dependency injection for {@link ChangeFeed}.
+     *
+     * @param changeFeed the feed to subscribe to
+     */
+    public ChangeFeedController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Endpoint to subscribe to the changes of the dictionary.
+     * Each {@code insert}, {@code update}, {@code upgrade} and {@code delete} event carries the ID of the word
+     * and its sequence number. A client that reconnects with the ID of the last event it received,
+     * either in the {@code Last-Event-ID} header or in the {@code since} parameter, receives the changes it missed,
+     * or a {@code reset} event if it has to reload the dictionary first.
+     *
+     * @param lastEventId the ID of the last event received, set by the browser on reconnect
+     * @param since       the ID of the last event received, for clients that cannot set headers
+     * @return the event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String since) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : since, null);
+    }
+}
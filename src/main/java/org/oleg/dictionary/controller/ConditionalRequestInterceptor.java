@@ -0,0 +1,46 @@
+package org.oleg.dictionary.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.oleg.dictionary.changes.DictionaryVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Answers conditional GET requests for responses computed from the whole dictionary.
+ * <p>
+ * The responses are tagged with the {@link DictionaryVersion}. A request whose {@code If-None-Match}
+ * header still matches gets {@code 304 Not Modified} before the handler runs, so it neither queries the database
+ * nor serializes the response. The responses are validated on the entity tag only and carry no
+ * {@code Last-Modified}, because its one-second resolution cannot tell apart versions written within a second. Clients are asked to revalidate every time,
+ * because the version changes without notice. The version only covers the writes made through this instance,
+ * so the validation assumes a single application instance.
+ * </p>
+ */
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private final DictionaryVersion version;
+
+    /**
+     * Constructor-based dependency injection for {@link DictionaryVersion}.
+     *
+     * @param version the version the responses are tagged with
+     */
+    public ConditionalRequestInterceptor(DictionaryVersion version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        LocalDate today = LocalDate.now();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response)
+                .checkNotModified(version.eTag(today));
+    }
+}
@@ -1,13 +1,42 @@
 package org.oleg.dictionary.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.ImportReport;
+import org.oleg.dictionary.model.KeysetPage;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.ListOptions;
+import org.oleg.dictionary.model.RepeatPolicy;
+import org.oleg.dictionary.model.SampleWeight;
+import org.oleg.dictionary.model.UpgradeRequest;
+import org.oleg.dictionary.model.UpgradeResult;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
 import org.oleg.dictionary.service.FinnishWordService;
+import org.oleg.dictionary.service.WordImportService;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -19,25 +48,66 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/words")
 public class FinnishWordController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final FinnishWordService service;
+    private final WordImportService importService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Constructor-based dependency injection for {@link FinnishWordService}.
+     * Constructor-based dependency injection for {@link FinnishWordService} and {@link WordImportService}.
      *
-     * @param service the service to handle business logic for Finnish words
+     * @param service       the service to handle business logic for Finnish words
+     * @param importService the service to handle bulk imports
+     * @param objectMapper  the mapper used to write streamed responses
      */
-    public FinnishWordController(FinnishWordService service) {
+    public FinnishWordController(FinnishWordService service, WordImportService importService,
+                                 ObjectMapper objectMapper) {
         this.service = service;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Endpoint to retrieve all words in the dictionary.
+     * If any of the keyset options {@code after}, {@code orderBy}, {@code limit} or {@code fields} is given,
+     * a single keyset page is returned instead of the whole dictionary.
      *
-     * @return a list of all Finnish words
+     * @param options the keyset pagination and projection options
+     * @return a list of all Finnish words, or a {@link KeysetPage}
      */
     @GetMapping
-    public List<FinnishWord> getAllWords() {
-        return service.getAllWords();
+    public ResponseEntity<?> getAllWords(ListOptions options) {
+        if (options.isRequested()) {
+            return ResponseEntity.ok(service.getWords(options));
+        }
+        return ResponseEntity.ok(service.getAllWords());
+    }
+
+    /**
+     * Endpoint to export all words as newline-delimited JSON.
+     * The words are read through a database cursor and written to the response one by one,
+     * so memory usage stays flat regardless of the size of the dictionary.
+     *
+     * @return a streaming response with one JSON word object per line
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWords() {
+        StreamingResponseBody body = output -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                ObjectWriter writer = objectMapper.writerFor(FinnishWord.class);
+                service.exportWords(word -> {
+                    try {
+                        writer.writeValue(generator, word);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
     }
 
     /**
@@ -55,30 +125,28 @@ public class FinnishWordController {
 
     /**
      * Endpoint to filter words based on several criteria.
+     * The criteria are bound from the request parameters {@code daysSinceLastRepeat}, {@code level},
+     * {@code popularity}, {@code frequency}, {@code source}, {@code category1}, {@code category2}
+     * and {@code repeatAgain}; the result is paged with the standard {@code page}, {@code size}
+     * and {@code sort} parameters, or with keyset pagination if any keyset option is given.
+     * Sorting by a field other than the summary fields is answered with 400 Bad Request.
      *
-     * @param daysSinceLastRepeat number of days since the word was last repeated
-     * @param level               the level of the word
-     * @param popularity          the popularity of the word
-     * @param frequency           the frequency of the word
-     * @param source              the source of the word
-     * @param category1           the first category of the word
-     * @param category2           the second category of the word
-     * @param repeatAgain         the status of the word to determine if it should be repeated
-     * @return a list of words matching the filter criteria
+     * @param filter   the filter criteria
+     * @param options  the keyset pagination and projection options
+     * @param pageable the requested page, sorted by ID unless specified otherwise
+     * @return a page of words matching the filter criteria
      */
     @GetMapping("/filter")
-    public ResponseEntity<List<FinnishWord>> filterWords(
-            @RequestParam(required = false) Long daysSinceLastRepeat,
-            @RequestParam(required = false) Integer level,
-            @RequestParam(required = false) Integer popularity,
-            @RequestParam(required = false) Integer frequency,
-            @RequestParam(required = false) String source,
-            @RequestParam(required = false) String category1,
-            @RequestParam(required = false) String category2,
-            @RequestParam(required = false) Integer repeatAgain) {
-
-        List<FinnishWord> filteredWords = service.filterWords(
-                daysSinceLastRepeat, level, popularity, frequency, source, category1, category2, repeatAgain);
+    public ResponseEntity<?> filterWords(
+            WordFilter filter,
+            ListOptions options,
+            @PageableDefault(size = 100, sort = "id") Pageable pageable) {
+
+        if (options.isRequested()) {
+            return ResponseEntity.ok(service.filterWords(filter, options));
+        }
+
+        Page<FinnishWord> filteredWords = service.filterWords(filter, pageable);
 
         if (filteredWords.isEmpty()) {
             return ResponseEntity.noContent().build();
@@ -86,15 +154,63 @@ public class FinnishWordController {
         return ResponseEntity.ok(filteredWords);
     }
 
+    /**
+     * Endpoint to count the words matching a filter per value of the facet fields
+     * {@code category}, {@code category2}, {@code source}, {@code level} and {@code popularity}.
+     * It accepts the same criteria as {@code /filter}.
+     *
+     * @param filter the filter criteria
+     * @return the number of matching words in total and per facet value
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<WordFacets> getFacets(WordFilter filter) {
+        return ResponseEntity.ok(service.getFacets(filter));
+    }
+
+    /**
+     * Endpoint to draw random words matching the same criteria as {@code /filter}, for example for a quiz.
+     *
+     * @param filter the filter criteria
+     * @param size   the number of words to draw (default 20, at most {@value FinnishWordService#MAX_SAMPLE_SIZE})
+     * @param weight {@code none} (default), {@code level} to prefer low levels, {@code repeatAgain} to prefer words
+     *               marked for repetition, or {@code age} to prefer words repeated long ago
+     * @param seed   optional seed; the same seed returns the same words while the dictionary does not change
+     * @return the drawn words in random order, or 204 if no word matches
+     */
+    @GetMapping("/sample")
+    public ResponseEntity<List<FinnishWord>> sampleWords(
+            WordFilter filter,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String weight,
+            @RequestParam(required = false) Long seed) {
+
+        List<FinnishWord> words = service.sampleWords(filter, size, SampleWeight.fromParameter(weight), seed);
+        if (words.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(words);
+    }
+
     /**
      * Endpoint to retrieve words that are ready for repetition based on their level.
+     * Without further parameters it returns all words with the oldest repetition date of the level.
+     * With {@code policy=interval} or any keyset option it returns a {@link KeysetPage} of due words.
      *
-     * @param level the level of the words to retrieve
-     * @return a list of words with the oldest repetition date for the given level
+     * @param level   the level of the words to retrieve
+     * @param policy  {@code oldest} (default) or {@code interval} to use the configured interval per level
+     * @param options the keyset pagination and projection options
+     * @return a list of words with the oldest repetition date for the given level, or a {@link KeysetPage}
      */
     @GetMapping("/repeat")
-    public ResponseEntity<List<FinnishWord>> getWordsForRepetition(
-            @RequestParam("level") int level) {
+    public ResponseEntity<?> getWordsForRepetition(
+            @RequestParam("level") int level,
+            @RequestParam(required = false) String policy,
+            ListOptions options) {
+
+        RepeatPolicy repeatPolicy = RepeatPolicy.fromParameter(policy);
+        if (repeatPolicy != RepeatPolicy.OLDEST || options.isRequested()) {
+            return ResponseEntity.ok(service.getWordsForRepetition(level, repeatPolicy, options));
+        }
 
         List<FinnishWord> words = service.getWordsByLevelWithOldestRepeat(level);
         if (words.isEmpty()) {
@@ -105,23 +221,55 @@ public class FinnishWordController {
 
     /**
      * Endpoint to add a new word to the dictionary.
+     * The word is always inserted under a new ID with the initial version; existing words are updated with
+     * {@code PUT} or {@code PATCH}.
      *
      * @param word the word to be added
      * @return the added word
      */
     @PostMapping
     public FinnishWord addWord(@RequestBody FinnishWord word) {
+        word.setId(null);
+        word.setVersion(null);
         return service.saveWord(word);
     }
 
+    /**
+     * Endpoint to import words from a CSV body.
+     * The first line is a header naming the word field of every column. The body is streamed,
+     * so it can be arbitrarily large.
+     *
+     * @param body the CSV request body
+     * @return a report with the number of imported rows and the errors of rejected rows
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
+
+    /**
+     * Endpoint to import words from a newline-delimited JSON body, one word object per line.
+     * The body is streamed, so it can be arbitrarily large.
+     *
+     * @param body the NDJSON request body
+     * @return a report with the number of imported rows and the errors of rejected rows
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importNdjson(body));
+    }
+
     /**
      * Endpoint to upgrade the level of multiple words by 1.
      * It also updates the repetition date of the words to the current date.
+     * Only the IDs of the submitted words are used; levels are incremented in the database.
      *
      * @param words the list of words to upgrade
+     * @param date  the new repetition date (optional, defaults to today)
      * @return a response with the updated words
      */
-
     @PostMapping("/upgrade")
     public ResponseEntity<?> upgradeWords(
             @RequestBody List<FinnishWord> words,
@@ -129,18 +277,41 @@ public class FinnishWordController {
 
         LocalDate newDate = date != null ? LocalDate.parse(date) : LocalDate.now();
 
-        List<FinnishWord> updatedWords = words.stream().map(word -> {
-            word.setLevel(word.getLevel() + 1); // Automatic level increment
-            word.setDateRepeated(newDate);
-            return service.saveWord(word);
-        }).collect(Collectors.toList());
+        List<Long> ids = words.stream().map(FinnishWord::getId).toList();
+        List<Long> updatedIds = service.upgradeWords(ids, newDate).stream().map(LevelChange::id).toList();
 
-        return ResponseEntity.ok(updatedWords);
+        return ResponseEntity.ok(service.getWordsByIds(updatedIds));
     }
 
+    /**
+     * Endpoint to upgrade the level of multiple words by 1 in a single batch.
+     * The levels are incremented and the repetition date is set atomically in the database.
+     *
+     * @param request the IDs of the words to upgrade and the new repetition date (defaults to today)
+     * @return the IDs that were updated and the IDs that do not exist
+     */
+    @PostMapping("/upgrade/batch")
+    public ResponseEntity<UpgradeResult> upgradeWordsBatch(@RequestBody UpgradeRequest request) {
+        if (request.ids() == null || request.ids().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate newDate = request.date() != null ? request.date() : LocalDate.now();
+
+        Set<Long> updated = service.upgradeWords(request.ids(), newDate).stream()
+                .map(LevelChange::id)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Long> notFound = request.ids().stream()
+                .filter(id -> id != null && !updated.contains(id))
+                .distinct()
+                .toList();
+
+        return ResponseEntity.ok(new UpgradeResult(List.copyOf(updated), notFound));
+    }
 
     /**
-     * Endpoint to update an existing word in the dictionary.
+     * Endpoint to replace an existing word in the dictionary.
+     * Fields missing from the body are cleared. If the body contains the {@code version} of the word,
+     * the update fails with 409 Conflict when the word has been changed since.
      *
      * @param id         the ID of the word to update
      * @param updateWord the updated word details
@@ -151,11 +322,30 @@ public class FinnishWordController {
         return service.getWordById(id)
                 .map(word -> {
                     updateWord.setId(word.getId());
+                    if (updateWord.getVersion() == null) {
+                        updateWord.setVersion(word.getVersion());
+                    }
                     return ResponseEntity.ok(service.saveWord(updateWord));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Endpoint to update only the given fields of a word, for example {@code {"comment": "..."}}.
+     * Fields missing from the body keep their values. If the body contains the {@code version} of the word,
+     * the update fails with 409 Conflict when the word has been changed since.
+     *
+     * @param id    the ID of the word to update
+     * @param patch the fields to change
+     * @return the updated word, or a 404 Not Found response if the word does not exist
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<FinnishWord> patchWord(@PathVariable Long id, @RequestBody ObjectNode patch) {
+        return service.patchWord(id, patch)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Endpoint to delete a word by its ID.
      *
@@ -170,22 +360,34 @@ public class FinnishWordController {
 
     /**
      * Endpoint to search for words by their word or translation.
+     * The search is case-insensitive, ranks prefix matches first and returns at most {@code limit} words.
      *
      * @param word        the word to search for (optional)
      * @param translation the translation to search for (optional)
+     * @param fold        whether ä, ö and å should match a, o and a
+     * @param limit       the maximum number of results
+     * @param fields      the fields to return, or {@code summary} (optional, all fields by default)
      * @return a list of words matching the search criteria
      */
     @GetMapping("/search")
-    public ResponseEntity<List<FinnishWord>> searchWords(
+    public ResponseEntity<List<?>> searchWords(
             @RequestParam(required = false) String word,
-            @RequestParam(required = false) String translation) {
+            @RequestParam(required = false) String translation,
+            @RequestParam(defaultValue = "false") boolean fold,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields) {
 
-        List<FinnishWord> results = new ArrayList<>();
+        List<String> selectedFields = new ListOptions(null, null, null, fields).selectedFields();
+        List<?> results = new ArrayList<>();
 
         if (word != null) {
-            results = service.searchByWord(word);
+            results = selectedFields == null
+                    ? service.searchByWord(word, fold, limit)
+                    : service.searchByWord(word, fold, limit, selectedFields);
         } else if (translation != null) {
-            results = service.searchByTranslation(translation);
+            results = selectedFields == null
+                    ? service.searchByTranslation(translation, fold, limit)
+                    : service.searchByTranslation(translation, fold, limit, selectedFields);
         }
 
         if (results.isEmpty()) {
@@ -195,6 +397,35 @@ public class FinnishWordController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Endpoint to resolve a word form, such as an inflected form or a synonym, to its headwords.
+     * The form matches whole entries of {@code wordFormation} and {@code synonyms} case-insensitively,
+     * so {@code talossa} finds {@code talo} if it is listed among its forms.
+     *
+     * @param form     the form to look up
+     * @param synonyms whether words listing the form as a synonym are included (default true)
+     * @param limit    the maximum number of results
+     * @param fields   the fields to return, or {@code summary} (optional, all fields by default)
+     * @return the words having the form, followed by the words having it as a synonym
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<List<?>> lookupForm(
+            @RequestParam String form,
+            @RequestParam(defaultValue = "true") boolean synonyms,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields) {
+
+        List<String> selectedFields = new ListOptions(null, null, null, fields).selectedFields();
+        List<?> results = selectedFields == null
+                ? service.lookupForm(form, synonyms, limit)
+                : service.lookupForm(form, synonyms, limit, selectedFields);
+
+        if (results.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Endpoint to get overall statistics about the words in the dictionary.
      *
@@ -204,4 +435,38 @@ public class FinnishWordController {
     public ResponseEntity<?> getWordsStatistics() {
         return ResponseEntity.ok(service.getWordsStatistics());
     }
+
+    /**
+     * Handles invalid request parameters, such as unknown fields or malformed cursors.
+     *
+     * @param e the exception describing the invalid parameter
+     * @return a 400 Bad Request response with the error message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Handles updates of words that have been changed since the version the client has read.
+     *
+     * @param e the exception identifying the word
+     * @return a 409 Conflict response with the error message
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Word " + e.getIdentifier() + " has been changed concurrently"));
+    }
+
+    /**
+     * Handles writes, and reads that need the database, on an instance serving the dictionary from a snapshot.
+     *
+     * @param e the exception describing the unavailable operation
+     * @return a 503 Service Unavailable response with the error message
+     */
+    @ExceptionHandler(ReadOnlyModeException.class)
+    public ResponseEntity<Map<String, String>> handleReadOnly(ReadOnlyModeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
 }
@@ -0,0 +1,72 @@
+package org.oleg.dictionary.controller;
+
+import org.oleg.dictionary.journal.RetentionStatistics;
+import org.oleg.dictionary.journal.ReviewEvent;
+import org.oleg.dictionary.journal.ReviewJournal;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for the review history of words and the retention statistics derived from it.
+ */
+@RestController
+@RequestMapping("/api/words")
+public class ReviewJournalController {
+
+    private final ReviewJournal journal;
+
+    /**
+     * Constructor-based dependency injection for {@link ReviewJournal}.
+     *
+     * @param journal the journal of review outcomes
+     */
+    public ReviewJournalController(ReviewJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Endpoint to get the recorded reviews of a word, latest first. Reviews appear once the journal
+     * has written them, within {@code dictionary.journal.flush-interval}.
+     *
+     * @param id    the ID of the word
+     * @param limit the maximum number of reviews (default 100, max 1000)
+     * @return the reviews with their time and the level and repeat date before and after
+     */
+    @GetMapping("/{id}/reviews")
+    public ResponseEntity<List<ReviewEvent>> getReviews(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(journal.history(id, limit));
+    }
+
+    /**
+     * Endpoint to get the retention curve: the share of reviews that moved a word up a level,
+     * per interval since its previous review.
+     *
+     * @return the number of reviews and the retention per interval
+     */
+    @GetMapping("/stats/retention")
+    public ResponseEntity<RetentionStatistics> getRetention() {
+        return ResponseEntity.ok(journal.retention());
+    }
+
+    /**
+     * Handles requests on an instance without a database or with the journal disabled.
+     *
+     * @param e the exception describing why the journal is unavailable
+     * @return a 503 Service Unavailable response with the error message
+     */
+    @ExceptionHandler({ReadOnlyModeException.class, IllegalStateException.class})
+    public ResponseEntity<Map<String, String>> handleUnavailable(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -0,0 +1,70 @@
+package org.oleg.dictionary.controller;
+
+import org.oleg.dictionary.service.SnapshotService;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.oleg.dictionary.snapshot.SnapshotStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * REST controller for writing and inspecting the binary snapshot of the dictionary.
+ */
+@RestController
+@RequestMapping("/api/snapshot")
+public class SnapshotController {
+
+    private final SnapshotService service;
+    private final SnapshotStore store;
+
+    /**
+     * Constructor-based dependency injection for {@link SnapshotService} and {@link SnapshotStore}.
+     *
+     * @param service the service writing snapshots
+     * @param store   the store holding the current snapshot
+     */
+    public SnapshotController(SnapshotService service, SnapshotStore store) {
+        this.service = service;
+        this.store = store;
+    }
+
+    /**
+     * Endpoint to describe the current snapshot.
+     *
+     * @return the configuration, size, creation time and fingerprint of the snapshot
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getSnapshot() {
+        return ResponseEntity.ok(store.describe());
+    }
+
+    /**
+     * Endpoint to write a snapshot of the current dictionary.
+     *
+     * @return the description of the new snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> writeSnapshot() throws IOException {
+        service.writeSnapshot();
+        return ResponseEntity.ok(store.describe());
+    }
+
+    /**
+     * Handles snapshot writes on an instance that is read-only or has no snapshot path.
+     *
+     * @param e the exception describing why no snapshot can be written
+     * @return a 503 Service Unavailable response with the error message
+     */
+    @ExceptionHandler({ReadOnlyModeException.class, IllegalStateException.class})
+    public ResponseEntity<Map<String, String>> handleUnavailable(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -0,0 +1,95 @@
+package org.oleg.dictionary.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests processed at the same time.
+ * <p>
+ * The servlet container runs far more requests at once than there are database connections, and with virtual
+ * threads it does not bound them at all, so every request of a burst would compete for a connection and time out
+ * in the pool. The bulkhead admits a fixed number of
+ * requests, sized to the connection pool, and lets the others wait in a fair queue. Long-lived streams are
+ * excluded, since they would hold a permit for their whole duration.
+ * Requests that cannot be admitted within the maximum wait are rejected with {@code 503 Service Unavailable}
+ * and a {@code Retry-After} header. The metrics are:
+ * <ul>
+ *     <li>{@code dictionary.bulkhead.active}: requests being processed</li>
+ *     <li>{@code dictionary.bulkhead.rejected}: requests rejected after waiting</li>
+ * </ul>
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Counter rejected;
+    private final Set<String> excludedPaths;
+
+    /**
+     * Creates the filter.
+     *
+     * @param registry      the registry to record the metrics in
+     * @param maxConcurrent the number of requests processed at the same time
+     * @param maxWait       the time a request waits for admission before it is rejected
+     * @param excludedPaths the paths, relative to the context path, that are not limited
+     */
+    public BulkheadFilter(MeterRegistry registry, int maxConcurrent, Duration maxWait, Set<String> excludedPaths) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("dictionary.bulkhead.max-concurrent must be positive");
+        }
+        this.maxWaitNanos = maxWait.toNanos();
+        this.excludedPaths = Set.copyOf(excludedPaths);
+        this.permits = new Semaphore(maxConcurrent, true);
+        Gauge.builder("dictionary.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Requests admitted by the bulkhead")
+                .register(registry);
+        this.rejected = Counter.builder("dictionary.bulkhead.rejected")
+                .description("Requests rejected by the bulkhead after waiting for admission")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excludedPaths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many concurrent requests\"}");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.repository.LevelRepeatCount;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the small fields of every word that filters and statistics look at.
+ * <p>
+ * Each word occupies one slot across a set of primitive arrays. Dates are stored as epoch days,
+ * and the text fields {@code category}, {@code category2} and {@code source} are stored in lower case
+ * as codes of a shared dictionary. For every value of the equality-filtered fields a bitmap of the slots
+ * holding it is kept, so that a filter is evaluated by intersecting bitmaps and then checking the remaining
+ * range and date criteria on the surviving slots only. Facet counts are gathered in the same pass over
+ * the matching slots. The number of words per (level, repeat date) bucket
+ * is maintained on every change, so statistics never scan the columns.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+class ColumnStore {
+
+    static final int NULL = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] levels = new int[INITIAL_CAPACITY];
+    private int[] popularities = new int[INITIAL_CAPACITY];
+    private int[] frequencies = new int[INITIAL_CAPACITY];
+    private int[] repeatAgains = new int[INITIAL_CAPACITY];
+    private int[] repeatDays = new int[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private int[] categories2 = new int[INITIAL_CAPACITY];
+    private int[] sources = new int[INITIAL_CAPACITY];
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet free = new BitSet();
+    private int size;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    private final Map<Integer, BitSet> byLevel = new HashMap<>();
+    private final Map<Integer, BitSet> byPopularity = new HashMap<>();
+    private final Map<Integer, BitSet> byRepeatAgain = new HashMap<>();
+    private final Map<Integer, BitSet> byCategory = new HashMap<>();
+    private final Map<Integer, BitSet> byCategory2 = new HashMap<>();
+    private final Map<Integer, BitSet> bySource = new HashMap<>();
+
+    private final Map<Long, Long> bucketCounts = new HashMap<>();
+
+    /**
+     * Adds a word or replaces the stored fields of a word with the same ID.
+     *
+     * @param word the word
+     */
+    void put(FinnishWord word) {
+        Integer existing = slots.get(word.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unindex(slot);
+        } else {
+            slot = allocate(word.getId());
+        }
+        levels[slot] = value(word.getLevel());
+        popularities[slot] = value(word.getPopularity());
+        frequencies[slot] = value(word.getFrequency());
+        repeatAgains[slot] = value(word.getRepeatAgain());
+        repeatDays[slot] = day(word.getDateRepeated());
+        categories[slot] = code(word.getCategory());
+        categories2[slot] = code(word.getCategory2());
+        sources[slot] = code(word.getSource());
+        index(slot);
+    }
+
+    /**
+     * Changes the level and the repeat date of a stored word.
+     *
+     * @param id           the ID of the word
+     * @param level        the new level
+     * @param dateRepeated the new repeat date
+     */
+    void upgrade(long id, int level, LocalDate dateRepeated) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            return;
+        }
+        unindex(slot);
+        levels[slot] = level;
+        repeatDays[slot] = day(dateRepeated);
+        index(slot);
+    }
+
+    /**
+     * Removes a word.
+     *
+     * @param id the ID of the word
+     */
+    void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        unindex(slot);
+        live.clear(slot);
+        free.set(slot);
+    }
+
+    /**
+     * @return the number of stored words
+     */
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Returns the IDs of the words matching every criterion of the filter, with the same semantics
+     * as the database query built from the filter.
+     *
+     * @param filter the filter criteria
+     * @param today  the date the number of days since the last repeat is counted from
+     * @return the IDs of the matching words in ascending order
+     */
+    long[] filter(WordFilter filter, LocalDate today) {
+        BitSet matches = matching(filter, today);
+        long[] result = new long[matches.cardinality()];
+        int count = 0;
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            result[count++] = ids[slot];
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Counts the words matching the filter per value of each facet field, in one pass over the matching slots.
+     *
+     * @param filter the filter criteria
+     * @param today  the date the number of days since the last repeat is counted from
+     * @return the facet counts
+     */
+    WordFacets facets(WordFilter filter, LocalDate today) {
+        BitSet matches = matching(filter, today);
+        long[] categoryCounts = new long[values.size()];
+        long[] category2Counts = new long[values.size()];
+        long[] sourceCounts = new long[values.size()];
+        Map<Integer, long[]> levelCounts = new HashMap<>();
+        Map<Integer, long[]> popularityCounts = new HashMap<>();
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            increment(categoryCounts, categories[slot]);
+            increment(category2Counts, categories2[slot]);
+            increment(sourceCounts, sources[slot]);
+            levelCounts.computeIfAbsent(levels[slot], key -> new long[1])[0]++;
+            popularityCounts.computeIfAbsent(popularities[slot], key -> new long[1])[0]++;
+        }
+
+        WordFacets.Builder builder = new WordFacets.Builder().total(matches.cardinality());
+        for (int code = 0; code < values.size(); code++) {
+            builder.category(values.get(code), categoryCounts[code])
+                    .category2(values.get(code), category2Counts[code])
+                    .source(values.get(code), sourceCounts[code]);
+        }
+        levelCounts.forEach((value, count) -> builder.level(value == NULL ? null : value, count[0]));
+        popularityCounts.forEach((value, count) -> builder.popularity(value == NULL ? null : value, count[0]));
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of words per level and repeat date.
+     *
+     * @return one bucket per distinct combination of level and repeat date, including missing values
+     */
+    List<LevelRepeatCount> buckets() {
+        List<LevelRepeatCount> result = new ArrayList<>(bucketCounts.size());
+        for (Map.Entry<Long, Long> entry : bucketCounts.entrySet()) {
+            int level = (int) (entry.getKey() >> 32);
+            int day = (int) (long) entry.getKey();
+            result.add(new Bucket(level == NULL ? null : level,
+                    day == NULL ? null : LocalDate.ofEpochDay(day), entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the slots of the words matching every criterion of the filter. Equality criteria are evaluated
+     * by intersecting bitmaps; the frequency and repeat date are then checked on the remaining slots only.
+     */
+    private BitSet matching(WordFilter filter, LocalDate today) {
+        BitSet matches = (BitSet) live.clone();
+        if (!intersect(matches, byLevel, filter.level())
+                || !intersect(matches, byPopularity, filter.popularity())
+                || !intersect(matches, byRepeatAgain, filter.repeatAgain())
+                || !intersectText(matches, byCategory, filter.category1())
+                || !intersectText(matches, byCategory2, filter.category2())
+                || !intersectText(matches, bySource, filter.source())) {
+            return new BitSet();
+        }
+
+        int repeatDay = filter.daysSinceLastRepeat() != null
+                ? (int) today.minusDays(filter.daysSinceLastRepeat()).toEpochDay()
+                : NULL;
+        int maxFrequency = filter.frequency() != null ? filter.frequency() : NULL;
+        if (repeatDay == NULL && maxFrequency == NULL) {
+            return matches;
+        }
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            // A missing frequency never satisfies the comparison, as in SQL
+            if ((repeatDay != NULL && repeatDays[slot] != repeatDay)
+                    || (maxFrequency != NULL && (frequencies[slot] == NULL || frequencies[slot] > maxFrequency))) {
+                matches.clear(slot);
+            }
+        }
+        return matches;
+    }
+
+    private int allocate(long id) {
+        int slot = free.nextSetBit(0);
+        if (slot >= 0) {
+            free.clear(slot);
+        } else {
+            slot = size++;
+            if (slot == ids.length) {
+                grow();
+            }
+        }
+        ids[slot] = id;
+        slots.put(id, slot);
+        live.set(slot);
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        popularities = Arrays.copyOf(popularities, capacity);
+        frequencies = Arrays.copyOf(frequencies, capacity);
+        repeatAgains = Arrays.copyOf(repeatAgains, capacity);
+        repeatDays = Arrays.copyOf(repeatDays, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        categories2 = Arrays.copyOf(categories2, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+    }
+
+    private void index(int slot) {
+        bitmap(byLevel, levels[slot]).set(slot);
+        bitmap(byPopularity, popularities[slot]).set(slot);
+        bitmap(byRepeatAgain, repeatAgains[slot]).set(slot);
+        bitmap(byCategory, categories[slot]).set(slot);
+        bitmap(byCategory2, categories2[slot]).set(slot);
+        bitmap(bySource, sources[slot]).set(slot);
+        bucketCounts.merge(bucket(slot), 1L, Long::sum);
+    }
+
+    private void unindex(int slot) {
+        clear(byLevel, levels[slot], slot);
+        clear(byPopularity, popularities[slot], slot);
+        clear(byRepeatAgain, repeatAgains[slot], slot);
+        clear(byCategory, categories[slot], slot);
+        clear(byCategory2, categories2[slot], slot);
+        clear(bySource, sources[slot], slot);
+        bucketCounts.computeIfPresent(bucket(slot), (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private long bucket(int slot) {
+        return ((long) levels[slot] << 32) | (repeatDays[slot] & 0xFFFFFFFFL);
+    }
+
+    private boolean intersect(BitSet matches, Map<Integer, BitSet> bitmaps, Integer value) {
+        if (value == null) {
+            return true;
+        }
+        BitSet bitmap = bitmaps.get(value);
+        if (bitmap == null) {
+            return false;
+        }
+        matches.and(bitmap);
+        return !matches.isEmpty();
+    }
+
+    private boolean intersectText(BitSet matches, Map<Integer, BitSet> bitmaps, String value) {
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        Integer code = codes.get(value.toLowerCase(Locale.ROOT));
+        return code != null && intersect(matches, bitmaps, code);
+    }
+
+    private int code(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        return codes.computeIfAbsent(value.toLowerCase(Locale.ROOT), key -> {
+            values.add(key);
+            return values.size() - 1;
+        });
+    }
+
+    private static void increment(long[] counts, int code) {
+        if (code != NULL) {
+            counts[code]++;
+        }
+    }
+
+    private static BitSet bitmap(Map<Integer, BitSet> bitmaps, int value) {
+        return bitmaps.computeIfAbsent(value, key -> new BitSet());
+    }
+
+    private static void clear(Map<Integer, BitSet> bitmaps, int value, int slot) {
+        BitSet bitmap = bitmaps.get(value);
+        if (bitmap != null) {
+            bitmap.clear(slot);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(value);
+            }
+        }
+    }
+
+    private static int value(Integer value) {
+        return value != null ? value : NULL;
+    }
+
+    private static int day(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NULL;
+    }
+
+    /**
+     * The number of words sharing a level and a repeat date.
+     */
+    record Bucket(Integer level, LocalDate dateRepeated, long count) implements LevelRepeatCount {
+
+        @Override
+        public Integer getLevel() {
+            return level;
+        }
+
+        @Override
+        public LocalDate getDateRepeated() {
+            return dateRepeated;
+        }
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+    }
+}
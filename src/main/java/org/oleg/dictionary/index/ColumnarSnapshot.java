@@ -0,0 +1,147 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.repository.LevelRepeatCount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional in-memory columnar replica of the fields used by the word filter, the facets and the statistics.
+ * <p>
+ * Filters are evaluated as bitmap intersections over the {@link ColumnStore} and statistics are read from
+ * counters maintained on every change, so neither touches the database or hydrates entities.
+ * The snapshot is filled by the {@link WordChangeDispatcher} at startup and kept current as words are saved,
+ * upgraded and deleted. It is disabled by default; until it is enabled and loaded it reports itself as
+ * not ready, and callers are expected to fall back to database queries.
+ * </p>
+ */
+@Component
+public class ColumnarSnapshot implements WordChangeListener {
+
+    private final boolean enabled;
+    private final ColumnStore store = new ColumnStore();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /**
+     * Creates the snapshot.
+     *
+     * @param enabled whether the snapshot should be maintained and used for filters and statistics
+     */
+    public ColumnarSnapshot(@Value("${dictionary.columnar.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return {@code true} if the snapshot is enabled and holds the complete dictionary
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the IDs of the words matching the filter.
+     *
+     * @param filter the filter criteria
+     * @param today  the date the number of days since the last repeat is counted from
+     * @return the IDs of the matching words in ascending order
+     */
+    public long[] filter(WordFilter filter, LocalDate today) {
+        lock.readLock().lock();
+        try {
+            return store.filter(filter, today);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the words matching the filter per value of each facet field.
+     *
+     * @param filter the filter criteria
+     * @param today  the date the number of days since the last repeat is counted from
+     * @return the facet counts
+     */
+    public WordFacets facets(WordFilter filter, LocalDate today) {
+        lock.readLock().lock();
+        try {
+            return store.facets(filter, today);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of words per level and repeat date, like
+     * {@link org.oleg.dictionary.repository.FinnishWordRepository#countByLevelAndDateRepeated()}.
+     *
+     * @return one bucket per distinct combination of level and repeat date
+     */
+    public List<LevelRepeatCount> countByLevelAndDateRepeated() {
+        lock.readLock().lock();
+        try {
+            return store.buckets();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void wordsLoaded(List<FinnishWord> chunk) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            chunk.forEach(store::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadCompleted() {
+        ready = enabled;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        wordsLoaded(List.of(word));
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            store.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void wordsUpgraded(List<LevelChange> changes) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (LevelChange change : changes) {
+                store.upgrade(change.id(), change.newLevel(), change.dateRepeated());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
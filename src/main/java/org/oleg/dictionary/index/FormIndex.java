@@ -0,0 +1,176 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from word forms and synonyms to the IDs of their headwords.
+ * <p>
+ * Every word contributes its {@code word} and the forms listed in {@code wordFormation} as forms, and the entries
+ * of {@code synonyms} as synonyms. The texts are split into entries at commas, semicolons, slashes, colons,
+ * brackets and line breaks, and into lower-cased tokens of letters; multi-word entries are indexed as a whole
+ * as well as token by token. A lookup is a single hash lookup per kind.
+ * </p>
+ * <p>
+ * Tokenising a word is independent of the index, so {@link #entry(FinnishWord)} may run in parallel.
+ * The index itself is not thread-safe; {@link WordLookupIndex} guards it with a read/write lock.
+ * </p>
+ */
+class FormIndex {
+
+    private static final Pattern ENTRY_SEPARATOR = Pattern.compile("[,;/:()\\[\\]|\\r\\n]+");
+    private static final Pattern TOKEN = Pattern.compile("\\p{L}+(?:[-'’]\\p{L}+)*");
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, long[]> forms = new HashMap<>();
+    private final Map<String, long[]> synonyms = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * The terms a word is indexed under.
+     *
+     * @param id       the ID of the word
+     * @param forms    the normalised headword and inflected forms
+     * @param synonyms the normalised synonyms
+     */
+    record Entry(long id, Set<String> forms, Set<String> synonyms) {
+    }
+
+    /**
+     * Extracts the terms of a word.
+     *
+     * @param word the word
+     * @return the entry to pass to {@link #put(Entry)}
+     */
+    static Entry entry(FinnishWord word) {
+        Set<String> forms = new LinkedHashSet<>();
+        addTerms(word.getWord(), forms);
+        addTerms(word.getWordFormation(), forms);
+        Set<String> synonyms = new LinkedHashSet<>();
+        addTerms(word.getSynonyms(), synonyms);
+        synonyms.removeAll(forms);
+        return new Entry(word.getId(), forms, synonyms);
+    }
+
+    /**
+     * Normalises a lookup term the way indexed terms are normalised.
+     *
+     * @param text the term
+     * @return the lower-cased tokens of the term joined by single spaces, or an empty string if it has none
+     */
+    static String normalize(String text) {
+        return String.join(" ", tokens(text));
+    }
+
+    /**
+     * Adds or replaces the terms of a word.
+     *
+     * @param entry the terms of the word
+     */
+    void put(Entry entry) {
+        remove(entry.id());
+        entry.forms().forEach(term -> forms.merge(term, new long[]{entry.id()}, FormIndex::union));
+        entry.synonyms().forEach(term -> synonyms.merge(term, new long[]{entry.id()}, FormIndex::union));
+        entries.put(entry.id(), entry);
+    }
+
+    /**
+     * Removes a word from the index, if present.
+     *
+     * @param id the ID of the word
+     */
+    void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        entry.forms().forEach(term -> forms.computeIfPresent(term, (t, ids) -> without(ids, id)));
+        entry.synonyms().forEach(term -> synonyms.computeIfPresent(term, (t, ids) -> without(ids, id)));
+    }
+
+    /**
+     * Finds the headwords of a form.
+     *
+     * @param term            the form, normalised with {@link #normalize(String)}
+     * @param includeSynonyms whether words listing the term as a synonym are included
+     * @param limit           the maximum number of IDs to return
+     * @return the IDs of the words having the term as a form in ascending order, followed by those having it
+     *         as a synonym
+     */
+    List<Long> lookup(String term, boolean includeSynonyms, int limit) {
+        List<Long> result = new ArrayList<>();
+        for (long id : forms.getOrDefault(term, EMPTY)) {
+            if (result.size() == limit) {
+                return result;
+            }
+            result.add(id);
+        }
+        if (includeSynonyms) {
+            for (long id : synonyms.getOrDefault(term, EMPTY)) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static void addTerms(String text, Set<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String part : ENTRY_SEPARATOR.split(text)) {
+            List<String> tokens = tokens(part);
+            if (tokens.size() > 1) {
+                terms.add(String.join(" ", tokens));
+            }
+            terms.addAll(tokens);
+        }
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    /**
+     * Merges a single ID into a sorted postings array.
+     */
+    private static long[] union(long[] ids, long[] single) {
+        int position = Arrays.binarySearch(ids, single[0]);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertAt = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = single[0];
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    /**
+     * Removes an ID from a sorted postings array, returning {@code null} to drop the term when none is left.
+     */
+    private static long[] without(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory array of the IDs of all words, used to draw uniformly random words in time proportional to the
+ * number of words drawn instead of to the size of the dictionary.
+ * <p>
+ * The IDs are kept sorted in a primitive array, so that a draw is a random array index and the result of
+ * a seeded draw only depends on the seed and the set of words. The array is filled by the
+ * {@link WordChangeDispatcher} at startup and kept current as words are saved and deleted. Until the initial
+ * load has completed it reports itself as not ready.
+ * </p>
+ */
+@Component
+public class IdSampler implements WordChangeListener {
+
+    private long[] ids = new long[1024];
+    private int size;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /**
+     * @return {@code true} if the sampler holds the IDs of the complete dictionary
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the number of words
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Draws distinct random IDs, each with the same probability.
+     *
+     * @param count   the number of IDs to draw
+     * @param random  the source of randomness
+     * @param exclude IDs that must not be drawn, typically those drawn before
+     * @return at most {@code count} IDs; fewer only if not enough IDs remain
+     */
+    public List<Long> sample(int count, SplittableRandom random, Set<Long> exclude) {
+        lock.readLock().lock();
+        try {
+            int remaining = size - exclude.size();
+            if (count >= remaining / 2) {
+                // Rejection would mostly hit drawn IDs, so shuffle the remaining IDs instead
+                List<Long> candidates = new ArrayList<>(Math.max(remaining, 0));
+                for (int i = 0; i < size; i++) {
+                    if (!exclude.contains(ids[i])) {
+                        candidates.add(ids[i]);
+                    }
+                }
+                int take = Math.min(count, candidates.size());
+                for (int i = 0; i < take; i++) {
+                    int j = i + random.nextInt(candidates.size() - i);
+                    candidates.set(j, candidates.set(i, candidates.get(j)));
+                }
+                return new ArrayList<>(candidates.subList(0, take));
+            }
+
+            List<Long> result = new ArrayList<>(count);
+            Set<Long> drawn = new HashSet<>();
+            while (result.size() < count) {
+                long id = ids[random.nextInt(size)];
+                if (!exclude.contains(id) && drawn.add(id)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void wordsLoaded(List<FinnishWord> chunk) {
+        lock.writeLock().lock();
+        try {
+            chunk.forEach(word -> insert(word.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadCompleted() {
+        ready = true;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        wordsLoaded(List.of(word));
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(long id) {
+        // New words usually have the highest ID, so appending is the common case
+        int position = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+}
@@ -0,0 +1,182 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.WordCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory queue of the words due for repetition.
+ * <p>
+ * For every level the queue keeps the repeated words ordered by repeat date and ID, so the next words
+ * due at a level are found with one O(log n) seek followed by reading only the returned entries.
+ * Words without a level or without a repeat date are not part of the queue.
+ * The queue is filled by the {@link WordChangeDispatcher} at startup and kept current as words are saved,
+ * upgraded and deleted. Until the initial load has completed it reports itself as not ready.
+ * </p>
+ */
+@Component
+public class RepetitionQueue implements WordChangeListener {
+
+    private final List<Integer> intervals;
+    private final Map<Integer, NavigableSet<Entry>> levels = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Creates the queue.
+     *
+     * @param intervals the repetition interval in days for each level, starting at level 0;
+     *                  levels beyond the list use its last interval
+     */
+    public RepetitionQueue(@Value("${dictionary.repeat.intervals:0,1,2,4,7,14,30,60,90,180,365}") List<Integer> intervals) {
+        if (intervals.isEmpty()) {
+            throw new IllegalArgumentException("dictionary.repeat.intervals must not be empty");
+        }
+        this.intervals = List.copyOf(intervals);
+    }
+
+    /**
+     * @return {@code true} if the queue holds the complete dictionary
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the repetition interval of a level.
+     *
+     * @param level the level
+     * @return the number of days that have to pass after a repeat before a word of the level is due again
+     */
+    public int intervalDays(int level) {
+        return intervals.get(Math.max(0, Math.min(level, intervals.size() - 1)));
+    }
+
+    /**
+     * Returns the words of a level that share the earliest repeat date of the level, ordered by ID.
+     *
+     * @param level the level
+     * @param after the cursor of the last word of the previous page, or {@code null} for the first page;
+     *              a cursor without a date refers to the earliest repeat date
+     * @param limit the maximum number of words
+     * @return the IDs of the words
+     */
+    public List<Long> oldest(int level, WordCursor after, int limit) {
+        NavigableSet<Entry> queue = levels.get(level);
+        if (queue == null || queue.isEmpty()) {
+            return List.of();
+        }
+        long oldestDay = queue.first().epochDay;
+        return collect(queue, after, oldestDay, oldestDay, limit);
+    }
+
+    /**
+     * Returns the words of a level whose repeat interval has passed, oldest repeat first.
+     *
+     * @param level the level
+     * @param today the current date
+     * @param after the cursor of the last word of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of words
+     * @return the IDs of the words
+     */
+    public List<Long> due(int level, LocalDate today, WordCursor after, int limit) {
+        NavigableSet<Entry> queue = levels.get(level);
+        if (queue == null || queue.isEmpty()) {
+            return List.of();
+        }
+        long lastDueDay = today.minusDays(intervalDays(level)).toEpochDay();
+        return collect(queue, after, queue.first().epochDay, lastDueDay, limit);
+    }
+
+    @Override
+    public void loadCompleted() {
+        ready = true;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        Long dateDay = word.getDateRepeated() != null ? word.getDateRepeated().toEpochDay() : null;
+        update(word.getId(), word.getLevel(), dateDay);
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        update(id, null, null);
+    }
+
+    @Override
+    public void wordsUpgraded(List<LevelChange> changes) {
+        for (LevelChange change : changes) {
+            update(change.id(), change.newLevel(), change.dateRepeated().toEpochDay());
+        }
+    }
+
+    private synchronized void update(long id, Integer level, Long epochDay) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            NavigableSet<Entry> queue = levels.get(previous.level);
+            if (queue != null) {
+                queue.remove(previous);
+            }
+        }
+        if (level != null && epochDay != null) {
+            Entry entry = new Entry(epochDay, id, level);
+            entries.put(id, entry);
+            levels.computeIfAbsent(level, l -> new ConcurrentSkipListSet<>()).add(entry);
+        }
+    }
+
+    private static List<Long> collect(NavigableSet<Entry> queue, WordCursor after, long firstDay, long lastDay,
+                                      int limit) {
+        NavigableSet<Entry> range;
+        if (after == null) {
+            range = queue;
+        } else {
+            long afterDay = after.dateRepeated() != null ? after.dateRepeated().toEpochDay() : firstDay;
+            range = queue.tailSet(new Entry(afterDay, after.id(), 0), false);
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Entry> iterator = range.iterator();
+        while (ids.size() < limit && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.epochDay > lastDay) {
+                break;
+            }
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    /**
+     * A queued word, ordered by repeat date and ID. The level is not part of the ordering.
+     */
+    private record Entry(long epochDay, long id, int level) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Long.compare(epochDay, other.epochDay);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry entry && epochDay == entry.epochDay && id == entry.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(epochDay) * 31 + Long.hashCode(id);
+        }
+    }
+}
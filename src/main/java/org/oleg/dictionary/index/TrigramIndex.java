@@ -0,0 +1,252 @@
+package org.oleg.dictionary.index;
+
+import java.util.*;
+
+/**
+ * Trigram inverted index over a single text field.
+ * <p>
+ * Every document is stored in a slot; postings lists hold sorted slot numbers, so that candidate
+ * documents for a substring query are found by intersecting the postings of the query's trigrams.
+ * Trigrams are extracted from the lower-cased text with the Finnish letters ä, ö and å folded,
+ * which makes the same index usable for both folded and unfolded matching.
+ * </p>
+ * <p>
+ * The single letters and letter pairs of the texts are indexed as well, so that queries of one or two letters
+ * only check the documents containing them instead of every document. The folded text of every document is
+ * kept next to the lower-cased text; it is the same string unless the text contains ä, ö or å.
+ * </p>
+ * <p>
+ * The class is not thread-safe; {@link WordSearchIndex} guards it with a read/write lock.
+ * </p>
+ */
+class TrigramIndex {
+
+    private long[] ids = new long[1024];
+    private String[] texts = new String[1024];
+    private String[] foldedTexts = new String[1024];
+    private int slotCount;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Adds or replaces the text of a document.
+     *
+     * @param id   the document ID
+     * @param text the text to index, or {@code null} to index nothing for the document
+     */
+    void put(long id, String text) {
+        remove(id);
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int slot = allocateSlot();
+        ids[slot] = id;
+        texts[slot] = lower;
+        foldedTexts[slot] = fold(lower);
+        slotById.put(id, slot);
+        for (String gram : grams(foldedTexts[slot])) {
+            postings.computeIfAbsent(gram, t -> new Postings()).add(slot);
+        }
+    }
+
+    /**
+     * Removes a document from the index, if present.
+     *
+     * @param id the document ID
+     */
+    void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String gram : grams(foldedTexts[slot])) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        texts[slot] = null;
+        foldedTexts[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Finds the documents whose text contains the query, ranked so that prefix matches come first,
+     * followed by matches closer to the start of the text and by shorter texts.
+     *
+     * @param query the substring to look for
+     * @param fold  whether ä, ö and å should match a, o and a
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the best matching documents, best first
+     */
+    List<Long> search(String query, boolean fold, int limit) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        if (fold) {
+            needle = fold(needle);
+        }
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Keep the worst of the best matches at the head, so it can be replaced cheaply
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        // Queries shorter than a trigram are looked up as a whole in the postings of the letters and letter pairs
+        String folded = fold(needle);
+        Set<String> queryGrams = folded.length() < 3 ? Set.of(folded) : trigrams(folded);
+        for (int slot : candidates(queryGrams)) {
+            collect(slot, needle, fold, limit, best);
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        Collections.sort(matches);
+        List<Long> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.id);
+        }
+        return result;
+    }
+
+    private void collect(int slot, String needle, boolean fold, int limit, PriorityQueue<Match> best) {
+        String text = texts[slot];
+        if (text == null) {
+            return;
+        }
+        int position = (fold ? foldedTexts[slot] : text).indexOf(needle);
+        if (position < 0) {
+            return;
+        }
+        Match match = new Match(ids[slot], position, text.length());
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (match.compareTo(best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    private int[] candidates(Set<String> queryTrigrams) {
+        List<Postings> lists = new ArrayList<>(queryTrigrams.size());
+        for (String trigram : queryTrigrams) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        // Start from the shortest postings list to keep the intersection small
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).slots, lists.get(0).size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            Postings list = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (Arrays.binarySearch(list.slots, 0, list.size, result[j]) >= 0) {
+                    result[kept++] = result[j];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (slotCount == ids.length) {
+            ids = Arrays.copyOf(ids, slotCount * 2);
+            texts = Arrays.copyOf(texts, slotCount * 2);
+            foldedTexts = Arrays.copyOf(foldedTexts, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    /**
+     * Folds the Finnish letters ä, ö and å into their ASCII counterparts.
+     *
+     * @param text lower-cased text
+     * @return the folded text
+     */
+    static String fold(String text) {
+        return text.replace('ä', 'a').replace('ö', 'o').replace('å', 'a');
+    }
+
+    /**
+     * Returns the single letters, letter pairs and trigrams of a text, which are the keys it is indexed under.
+     */
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                result.add(text.substring(i, i + length));
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * A growable, sorted array of slot numbers.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int index = size == 0 || slots[size - 1] < slot ? -(size + 1) : Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, insertAt, slots, insertAt + 1, size - insertAt);
+            slots[insertAt] = slot;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * A verified match with its ranking attributes.
+     */
+    private record Match(long id, int position, int length) implements Comparable<Match> {
+
+        @Override
+        public int compareTo(Match other) {
+            int result = Boolean.compare(position != 0, other.position != 0);
+            if (result == 0) {
+                result = Integer.compare(position, other.position);
+            }
+            if (result == 0) {
+                result = Integer.compare(length, other.length);
+            }
+            if (result == 0) {
+                result = Long.compare(id, other.id);
+            }
+            return result;
+        }
+    }
+}
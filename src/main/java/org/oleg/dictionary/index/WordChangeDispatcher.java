@@ -0,0 +1,211 @@
+package org.oleg.dictionary.index;
+
+import jakarta.persistence.EntityManager;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.repository.FinnishWordRepository;
+import org.oleg.dictionary.snapshot.MappedSnapshot;
+import org.oleg.dictionary.snapshot.SnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Loads the dictionary into all registered {@link WordChangeListener}s and forwards subsequent changes to them.
+ * <p>
+ * The initial load runs once the application is ready and reads the table through a single database cursor,
+ * or reads the mapped snapshot of the {@link SnapshotStore} instead if the table has not changed since the snapshot
+ * was written. Without a database, in read-only mode, the snapshot is always used.
+ * Changes reported while the load is running are buffered and replayed afterwards, so that a listener
+ * always ends up with the latest state of every word. Listeners that do not take part in the initial load
+ * are notified of changes immediately.
+ * </p>
+ * <p>
+ * Changes reported inside a transaction are delivered once it has committed, in the order they were reported,
+ * and dropped if it rolls back, so the listeners never hold a state the database does not have.
+ * </p>
+ */
+@Component
+public class WordChangeDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(WordChangeDispatcher.class);
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final FinnishWordRepository repository;
+    private final EntityManager entityManager;
+    private final SnapshotStore snapshots;
+    private final List<WordChangeListener> listeners;
+    private final List<WordChangeListener> immediateListeners;
+
+    private final Object lock = new Object();
+    private List<Consumer<WordChangeListener>> pending = new ArrayList<>();
+
+    /**
+     * Constructor that injects the repository, the snapshot store and all listener beans.
+     *
+     * @param repository    the repository used to read the dictionary, unavailable in read-only mode
+     * @param entityManager the entity manager used to detach loaded words, unavailable in read-only mode
+     * @param snapshots     the store of the snapshot the dictionary can be read from instead
+     * @param listeners     the listeners to keep up to date
+     */
+    public WordChangeDispatcher(ObjectProvider<FinnishWordRepository> repository,
+                                ObjectProvider<EntityManager> entityManager, SnapshotStore snapshots,
+                                List<WordChangeListener> listeners) {
+        this.repository = repository.getIfAvailable();
+        this.entityManager = entityManager.getIfAvailable();
+        this.snapshots = snapshots;
+        this.listeners = listeners.stream().filter(WordChangeListener::requiresInitialLoad).toList();
+        this.immediateListeners = listeners.stream().filter(listener -> !listener.requiresInitialLoad()).toList();
+    }
+
+    /**
+     * Streams the whole dictionary into the listeners once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (listeners.isEmpty()) {
+            replayPending();
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long count;
+        String source;
+        try {
+            MappedSnapshot snapshot = snapshots.current();
+            if (snapshot != null && (repository == null || snapshot.fingerprint().equals(repository.fingerprint()))) {
+                try (Stream<FinnishWord> words = snapshot.words()) {
+                    count = deliver(words.iterator(), () -> {
+                    });
+                }
+                source = "snapshot " + snapshot.path();
+            } else {
+                try (Stream<FinnishWord> words = repository.streamAll()) {
+                    // Loaded words are not needed by the persistence context any more
+                    count = deliver(words.iterator(), entityManager::clear);
+                }
+                source = "database";
+            }
+        } catch (RuntimeException e) {
+            log.error("Initial load of the in-memory indexes failed, falling back to database queries", e);
+            synchronized (lock) {
+                pending = null;
+            }
+            return;
+        }
+        replayPending();
+        listeners.forEach(WordChangeListener::loadCompleted);
+        log.info("Loaded {} words from the {} into {} in-memory indexes in {} ms",
+                count, source, listeners.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Notifies the listeners that a word has been inserted or updated.
+     *
+     * @param word the saved word
+     */
+    public void wordSaved(FinnishWord word) {
+        dispatch(listener -> listener.wordSaved(word));
+    }
+
+    /**
+     * Notifies the listeners that a new word has been inserted.
+     *
+     * @param word the inserted word
+     */
+    public void wordCreated(FinnishWord word) {
+        dispatch(listener -> listener.wordCreated(word));
+    }
+
+    /**
+     * Notifies the listeners that several new words have been inserted.
+     *
+     * @param words the inserted words
+     */
+    public void wordsCreated(List<FinnishWord> words) {
+        dispatch(listener -> words.forEach(listener::wordCreated));
+    }
+
+    /**
+     * Notifies the listeners that a word has been deleted.
+     *
+     * @param id the ID of the deleted word
+     */
+    public void wordDeleted(Long id) {
+        dispatch(listener -> listener.wordDeleted(id));
+    }
+
+    /**
+     * Notifies the listeners that several words have been upgraded.
+     *
+     * @param changes the changes applied to each word
+     */
+    public void wordsUpgraded(List<LevelChange> changes) {
+        if (!changes.isEmpty()) {
+            dispatch(listener -> listener.wordsUpgraded(changes));
+        }
+    }
+
+    /**
+     * Passes the words to the listeners in chunks and runs the given action after every chunk.
+     */
+    private long deliver(Iterator<FinnishWord> words, Runnable afterChunk) {
+        long count = 0;
+        List<FinnishWord> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+        while (words.hasNext()) {
+            chunk.add(words.next());
+            if (chunk.size() == LOAD_CHUNK_SIZE || !words.hasNext()) {
+                List<FinnishWord> delivered = chunk;
+                listeners.forEach(listener -> listener.wordsLoaded(delivered));
+                afterChunk.run();
+                count += chunk.size();
+                chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+            }
+        }
+        return count;
+    }
+
+    private void dispatch(Consumer<WordChangeListener> event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    private void publish(Consumer<WordChangeListener> event) {
+        immediateListeners.forEach(event);
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+                return;
+            }
+        }
+        listeners.forEach(event);
+    }
+
+    private void replayPending() {
+        synchronized (lock) {
+            pending.forEach(listeners::forEach);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+
+import java.util.List;
+
+/**
+ * Callback interface for in-memory structures that mirror the dictionary.
+ * Implementations are registered as Spring beans and are notified by the {@link WordChangeDispatcher},
+ * first with the whole dictionary during the initial load and afterwards with every change
+ * made through the service layer.
+ */
+public interface WordChangeListener {
+
+    /**
+     * Tells whether the listener mirrors the dictionary and therefore takes part in the initial load.
+     * Listeners that only react to changes, such as caches, return {@code false}; they are notified
+     * of changes immediately, even while the initial load is still running.
+     *
+     * @return {@code true} if the listener needs the initial load
+     */
+    default boolean requiresInitialLoad() {
+        return true;
+    }
+
+    /**
+     * Called during the initial load with consecutive chunks of the dictionary.
+     * The default implementation treats every word as saved.
+     *
+     * @param words a chunk of words read from the database
+     */
+    default void wordsLoaded(List<FinnishWord> words) {
+        words.forEach(this::wordSaved);
+    }
+
+    /**
+     * Called once after the initial load and all changes buffered during it have been delivered.
+     */
+    default void loadCompleted() {
+    }
+
+    /**
+     * Called after a word has been inserted or updated.
+     *
+     * @param word the saved word, including its ID
+     */
+    void wordSaved(FinnishWord word);
+
+    /**
+     * Called after a new word has been inserted. The default implementation treats the word as saved.
+     *
+     * @param word the inserted word, including its ID
+     */
+    default void wordCreated(FinnishWord word) {
+        wordSaved(word);
+    }
+
+    /**
+     * Called after a word has been deleted.
+     *
+     * @param id the ID of the deleted word
+     */
+    void wordDeleted(Long id);
+
+    /**
+     * Called after the level and repeat date of several words have been updated in one batch.
+     *
+     * @param changes the changes applied to each word
+     */
+    default void wordsUpgraded(List<LevelChange> changes) {
+    }
+}
@@ -0,0 +1,139 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index resolving inflected forms and synonyms to their headwords.
+ * <p>
+ * The index maps the headword, every form listed in {@code wordFormation} and every entry of {@code synonyms}
+ * to the ID of the word, so that a form such as "talossa" finds "talo" with one hash lookup instead of a
+ * table-scanning LIKE over the text columns. It is filled by the {@link WordChangeDispatcher} at startup and
+ * kept current as words are saved and deleted. The words of a loaded chunk are tokenised in parallel on the
+ * common fork-join pool, so building the index uses all cores. Until the initial load has completed the index
+ * reports itself as not ready, and callers are expected to fall back to database queries.
+ * </p>
+ */
+@Component
+public class WordLookupIndex implements WordChangeListener {
+
+    /**
+     * Chunks smaller than this are tokenised on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final boolean enabled;
+    private final boolean parallel;
+    private final FormIndex index = new FormIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /**
+     * Creates the index.
+     *
+     * @param enabled  whether the index should be maintained and used for lookups
+     * @param parallel whether loaded chunks are tokenised in parallel
+     */
+    public WordLookupIndex(@Value("${dictionary.lookup.index.enabled:true}") boolean enabled,
+                           @Value("${dictionary.lookup.index.parallel:true}") boolean parallel) {
+        this.enabled = enabled;
+        this.parallel = parallel;
+    }
+
+    /**
+     * @return {@code true} if the index is enabled and holds the complete dictionary
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the words that have the given form as their headword or as one of their inflected forms,
+     * and optionally those listing it as a synonym.
+     *
+     * @param form            the form to look up, compared case-insensitively
+     * @param includeSynonyms whether words listing the form as a synonym are included
+     * @param limit           the maximum number of results
+     * @return the IDs of the words having the form, followed by the IDs of the words having it as a synonym
+     */
+    public List<Long> lookup(String form, boolean includeSynonyms, int limit) {
+        String term = FormIndex.normalize(form);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.lookup(term, includeSynonyms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether a word has the given form, with the same tokenisation as the index.
+     * Used to discard false positives of a database substring search.
+     *
+     * @param word            the word to check
+     * @param form            the form to look up
+     * @param includeSynonyms whether the synonyms of the word are considered
+     * @return {@code true} if the index would return the word for the form
+     */
+    public static boolean matches(FinnishWord word, String form, boolean includeSynonyms) {
+        String term = FormIndex.normalize(form);
+        FormIndex.Entry entry = FormIndex.entry(word);
+        return entry.forms().contains(term) || (includeSynonyms && entry.synonyms().contains(term));
+    }
+
+    /**
+     * @param form the form to look up
+     * @return the form normalised like the indexed terms: lower case, tokens separated by single spaces
+     */
+    public static String normalize(String form) {
+        return FormIndex.normalize(form);
+    }
+
+    @Override
+    public void wordsLoaded(List<FinnishWord> chunk) {
+        if (!enabled) {
+            return;
+        }
+        // Tokenising is the expensive part and needs no lock; only the inserts are serialised
+        List<FormIndex.Entry> entries = parallel && chunk.size() >= PARALLEL_THRESHOLD
+                ? chunk.parallelStream().map(FormIndex::entry).toList()
+                : chunk.stream().map(FormIndex::entry).toList();
+        lock.writeLock().lock();
+        try {
+            entries.forEach(index::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadCompleted() {
+        ready = enabled;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        wordsLoaded(List.of(word));
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
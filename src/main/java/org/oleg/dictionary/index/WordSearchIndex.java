@@ -0,0 +1,117 @@
+package org.oleg.dictionary.index;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram search index over the {@code word} and {@code translation} fields.
+ * <p>
+ * The index serves case-insensitive substring searches without scanning the database table.
+ * It is filled by the {@link WordChangeDispatcher} at startup and kept current as words are saved and deleted.
+ * Until the initial load has completed the index reports itself as not ready, and callers are expected
+ * to fall back to database queries.
+ * </p>
+ */
+@Component
+public class WordSearchIndex implements WordChangeListener {
+
+    private final boolean enabled;
+    private final TrigramIndex words = new TrigramIndex();
+    private final TrigramIndex translations = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /**
+     * Creates the index.
+     *
+     * @param enabled whether the index should be maintained and used for searches
+     */
+    public WordSearchIndex(@Value("${dictionary.search.index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return {@code true} if the index is enabled and holds the complete dictionary
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Searches words whose {@code word} field contains the given text.
+     *
+     * @param text  the text to search for
+     * @param fold  whether ä, ö and å should match a, o and a
+     * @param limit the maximum number of results
+     * @return the IDs of the matching words, prefix matches first
+     */
+    public List<Long> searchWord(String text, boolean fold, int limit) {
+        return search(words, text, fold, limit);
+    }
+
+    /**
+     * Searches words whose {@code translation} field contains the given text.
+     *
+     * @param text  the text to search for
+     * @param fold  whether ä, ö and å should match a, o and a
+     * @param limit the maximum number of results
+     * @return the IDs of the matching words, prefix matches first
+     */
+    public List<Long> searchTranslation(String text, boolean fold, int limit) {
+        return search(translations, text, fold, limit);
+    }
+
+    @Override
+    public void wordsLoaded(List<FinnishWord> chunk) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (FinnishWord word : chunk) {
+                words.put(word.getId(), word.getWord());
+                translations.put(word.getId(), word.getTranslation());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadCompleted() {
+        ready = enabled;
+    }
+
+    @Override
+    public void wordSaved(FinnishWord word) {
+        wordsLoaded(List.of(word));
+    }
+
+    @Override
+    public void wordDeleted(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            words.remove(id);
+            translations.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> search(TrigramIndex index, String text, boolean fold, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(text, fold, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.oleg.dictionary.journal;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Running counts of reviews and recalls per interval since the previous review.
+ * <p>
+ * The interval bounds are the repetition intervals of the levels, so each bucket covers the reviews made
+ * around the schedule of one level. Adding a review is a single array update, which lets the curve be kept
+ * current as the journal is written instead of aggregating the journal table for every request.
+ * Instances are thread-safe.
+ * </p>
+ */
+class RetentionCurve {
+
+    private final int[] bounds;
+    private final long[] reviews;
+    private final long[] recalled;
+    private long total;
+    private long firstReviews;
+
+    /**
+     * Creates an empty curve.
+     *
+     * @param intervals the lower bounds of the intervals in days, in any order; 0 is always included
+     */
+    RetentionCurve(List<Integer> intervals) {
+        TreeSet<Integer> sorted = new TreeSet<>(intervals);
+        sorted.add(0);
+        this.bounds = sorted.stream().filter(days -> days >= 0).mapToInt(Integer::intValue).toArray();
+        this.reviews = new long[bounds.length];
+        this.recalled = new long[bounds.length];
+    }
+
+    /**
+     * Adds a recorded review.
+     *
+     * @param event the review
+     */
+    void add(ReviewEvent event) {
+        add(event.previousDateRepeated(), event.dateRepeated(), event.recalled(), 1);
+    }
+
+    /**
+     * Adds reviews with the same outcome and dates.
+     *
+     * @param previousDate the repeat date before the reviews, or {@code null} for first reviews
+     * @param date         the repeat date set by the reviews
+     * @param recall       whether the word was remembered
+     * @param count        the number of reviews
+     */
+    synchronized void add(LocalDate previousDate, LocalDate date, boolean recall, long count) {
+        total += count;
+        if (previousDate == null || date == null) {
+            firstReviews += count;
+            return;
+        }
+        int bucket = bucket(ChronoUnit.DAYS.between(previousDate, date));
+        reviews[bucket] += count;
+        if (recall) {
+            recalled[bucket] += count;
+        }
+    }
+
+    /**
+     * @return the current counts
+     */
+    synchronized RetentionStatistics statistics() {
+        List<RetentionStatistics.Interval> intervals = new ArrayList<>(bounds.length);
+        for (int i = 0; i < bounds.length; i++) {
+            Integer toDays = i + 1 < bounds.length ? bounds[i + 1] : null;
+            Double retention = reviews[i] > 0 ? (double) recalled[i] / reviews[i] : null;
+            intervals.add(new RetentionStatistics.Interval(bounds[i], toDays, reviews[i], recalled[i], retention));
+        }
+        return new RetentionStatistics(total, firstReviews, intervals);
+    }
+
+    /**
+     * Returns the last interval starting at or before the given number of days; negative distances,
+     * from repeat dates moved backwards, fall into the first interval.
+     */
+    private int bucket(long days) {
+        int bucket = 0;
+        while (bucket + 1 < bounds.length && bounds[bucket + 1] <= days) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
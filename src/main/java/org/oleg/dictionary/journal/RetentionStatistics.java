@@ -0,0 +1,26 @@
+package org.oleg.dictionary.journal;
+
+import java.util.List;
+
+/**
+ * Retention curve derived from the review journal: the share of reviews in which a word was remembered,
+ * by the number of days since its previous review.
+ *
+ * @param reviews      the number of recorded reviews
+ * @param firstReviews the reviews of words without a previous repeat date, which have no interval
+ * @param intervals    the reviews per interval, in ascending order
+ */
+public record RetentionStatistics(long reviews, long firstReviews, List<Interval> intervals) {
+
+    /**
+     * The reviews whose distance to the previous review lies in an interval.
+     *
+     * @param fromDays  the lower bound of the interval in days, inclusive
+     * @param toDays    the upper bound of the interval in days, exclusive, or {@code null} for the last interval
+     * @param reviews   the number of reviews in the interval
+     * @param recalled  the number of those reviews that moved the word up a level
+     * @param retention {@code recalled / reviews}, or {@code null} if there are no reviews
+     */
+    public record Interval(int fromDays, Integer toDays, long reviews, long recalled, Double retention) {
+    }
+}
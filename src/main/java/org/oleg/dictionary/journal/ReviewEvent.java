@@ -0,0 +1,34 @@
+package org.oleg.dictionary.journal;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One review outcome as recorded in the review journal.
+ *
+ * @param wordId               the ID of the reviewed word
+ * @param reviewedAt           the time the outcome was recorded
+ * @param previousLevel        the level before the review, or {@code null} if the word had no level
+ * @param newLevel             the level after the review, or {@code null} if the level was cleared
+ * @param previousDateRepeated the repeat date before the review, or {@code null} for the first review
+ * @param dateRepeated         the repeat date set by the review
+ */
+public record ReviewEvent(
+        long wordId,
+        Instant reviewedAt,
+        Integer previousLevel,
+        Integer newLevel,
+        LocalDate previousDateRepeated,
+        LocalDate dateRepeated) {
+
+    /**
+     * @return {@code true} if the word moved up a level, which means it was remembered
+     */
+    public boolean recalled() {
+        return level(newLevel) > level(previousLevel);
+    }
+
+    private static int level(Integer level) {
+        return level != null ? level : 0;
+    }
+}
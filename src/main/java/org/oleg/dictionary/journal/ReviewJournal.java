@@ -0,0 +1,402 @@
+package org.oleg.dictionary.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only journal of review outcomes, written behind the requests in batches.
+ * <p>
+ * Upgrades only increment {@code level} and overwrite {@code dateRepeated}, so the history of a word is lost.
+ * The journal records every upgrade, and every update that changes the level or the repeat date, as a
+ * {@link ReviewEvent} in the {@code review_journal} table. The events are added to a bounded lock-free
+ * {@link ReviewQueue} once the transaction of the change has committed, and a single writer thread inserts them
+ * with JDBC batches of {@code dictionary.journal.batch-size} rows every {@code dictionary.journal.flush-interval},
+ * or as soon as a full batch is waiting. A request therefore adds no statement of its own; the history of a word
+ * becomes visible once its events have been flushed.
+ * </p>
+ * <p>
+ * When the queue is full, {@code dictionary.journal.overflow=drop} discards the event and {@code block} makes the
+ * request wait up to {@code dictionary.journal.max-wait} for the writer. A batch that cannot be written is kept and
+ * retried with the next flush, so a database outage fills the queue instead of losing the events already taken.
+ * On shutdown the writer flushes the queue for up to {@code dictionary.journal.shutdown-timeout}; events still
+ * queued after that are lost. The metrics are:
+ * <ul>
+ *     <li>{@code dictionary.journal.pending}: events waiting to be written</li>
+ *     <li>{@code dictionary.journal.written}: events written</li>
+ *     <li>{@code dictionary.journal.dropped}: events discarded because the queue was full</li>
+ * </ul>
+ * <p>
+ * The writer also keeps a {@link RetentionCurve} current: it is aggregated from the table once, by the writer before
+ * its first batch, and updated with every written batch.
+ * </p>
+ */
+@Component
+public class ReviewJournal implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewJournal.class);
+
+    /**
+     * Upper bound for the number of events returned for a word.
+     */
+    public static final int MAX_HISTORY_LIMIT = 1000;
+
+    private static final String INSERT_SQL = "insert into review_journal (word_id, reviewed_at, previous_level, "
+            + "new_level, previous_date_repeated, date_repeated) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String HISTORY_SQL = "select word_id, reviewed_at, previous_level, new_level, "
+            + "previous_date_repeated, date_repeated from review_journal where word_id = ? "
+            + "order by reviewed_at desc, id desc limit ?";
+
+    private static final String CURVE_SQL = "select previous_date_repeated, date_repeated, recalled, count(*) as reviews "
+            + "from (select previous_date_repeated, date_repeated, "
+            + "case when coalesce(new_level, 0) > coalesce(previous_level, 0) then 1 else 0 end as recalled "
+            + "from review_journal) outcomes group by previous_date_repeated, date_repeated, recalled";
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private enum Overflow {
+        DROP, BLOCK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final ReviewQueue queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Overflow overflow;
+    private final long maxWaitNanos;
+    private final Duration shutdownTimeout;
+    private final List<Integer> intervals;
+    private final Counter written;
+    private final Counter dropped;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "review-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile RetentionCurve curve;
+
+    // Accessed by the writer thread only
+    private final List<ReviewEvent> batch = new ArrayList<>();
+    private double reportedDrops;
+
+    /**
+     * Creates the journal.
+     *
+     * @param jdbcTemplate        the template used to write and read the journal, unavailable in read-only mode
+     * @param transactionTemplate the template used to write every batch in one transaction,
+     *                            unavailable in read-only mode
+     * @param registry            the registry to record the metrics in
+     * @param enabled             whether review outcomes are recorded
+     * @param capacity            the maximum number of events waiting to be written
+     * @param batchSize           the maximum number of events written per batch
+     * @param flushInterval       the time between two flushes of the queue
+     * @param overflow            {@code drop} to discard events when the queue is full, {@code block} to wait
+     * @param maxWait             the time a request waits for space in the queue with {@code block}
+     * @param shutdownTimeout     the time allowed for writing the queued events on shutdown
+     * @param intervals           the repetition intervals in days, used as the intervals of the retention curve
+     */
+    public ReviewJournal(ObjectProvider<JdbcTemplate> jdbcTemplate,
+                         ObjectProvider<TransactionTemplate> transactionTemplate,
+                         MeterRegistry registry,
+                         @Value("${dictionary.journal.enabled:true}") boolean enabled,
+                         @Value("${dictionary.journal.capacity:100000}") int capacity,
+                         @Value("${dictionary.journal.batch-size:1000}") int batchSize,
+                         @Value("${dictionary.journal.flush-interval:1s}") Duration flushInterval,
+                         @Value("${dictionary.journal.overflow:drop}") String overflow,
+                         @Value("${dictionary.journal.max-wait:1s}") Duration maxWait,
+                         @Value("${dictionary.journal.shutdown-timeout:10s}") Duration shutdownTimeout,
+                         @Value("${dictionary.repeat.intervals:0,1,2,4,7,14,30,60,90,180,365}") List<Integer> intervals) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("dictionary.journal.batch-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate.getIfAvailable();
+        this.transactionTemplate = transactionTemplate.getIfAvailable();
+        this.enabled = enabled && this.jdbcTemplate != null && this.transactionTemplate != null;
+        this.queue = new ReviewQueue(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflow = Overflow.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        this.maxWaitNanos = maxWait.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.intervals = List.copyOf(intervals);
+        Gauge.builder("dictionary.journal.pending", queue, ReviewQueue::size)
+                .description("Review events waiting to be written")
+                .register(registry);
+        this.written = Counter.builder("dictionary.journal.written")
+                .description("Review events written to the journal")
+                .register(registry);
+        this.dropped = Counter.builder("dictionary.journal.dropped")
+                .description("Review events discarded because the journal queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Starts the periodic flush once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            writer.scheduleWithFixedDelay(this::flush, 0, flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records the outcome of upgrades.
+     *
+     * @param changes the changes applied to each upgraded word
+     */
+    public void recordUpgrades(List<LevelChange> changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        record(changes.stream()
+                .map(change -> new ReviewEvent(change.id(), now, change.previousLevel(), change.newLevel(),
+                        change.previousDateRepeated(), change.dateRepeated()))
+                .toList());
+    }
+
+    /**
+     * Records a change of the level or the repeat date of a word made by an update.
+     *
+     * @param wordId               the ID of the word
+     * @param previousLevel        the level before the update
+     * @param newLevel             the level after the update
+     * @param previousDateRepeated the repeat date before the update
+     * @param dateRepeated         the repeat date after the update
+     */
+    public void recordReview(long wordId, Integer previousLevel, Integer newLevel,
+                             LocalDate previousDateRepeated, LocalDate dateRepeated) {
+        if (enabled) {
+            record(List.of(new ReviewEvent(wordId, Instant.now(), previousLevel, newLevel, previousDateRepeated,
+                    dateRepeated)));
+        }
+    }
+
+    /**
+     * Reads the recorded reviews of a word. Events still waiting in the queue are not included.
+     *
+     * @param wordId the ID of the word
+     * @param limit  the maximum number of events to return
+     * @return the reviews of the word, latest first
+     * @throws ReadOnlyModeException if the application runs without a database
+     * @throws IllegalStateException if the journal is disabled
+     */
+    public List<ReviewEvent> history(long wordId, int limit) {
+        requireJournal();
+        return jdbcTemplate.query(HISTORY_SQL, ReviewJournal::mapEvent, wordId,
+                Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT)));
+    }
+
+    /**
+     * Returns the retention curve of all written reviews. Until the writer has aggregated the table,
+     * the curve is computed with a query.
+     *
+     * @return the reviews and the share of recalls per interval since the previous review
+     * @throws ReadOnlyModeException if the application runs without a database
+     * @throws IllegalStateException if the journal is disabled
+     */
+    public RetentionStatistics retention() {
+        requireJournal();
+        RetentionCurve current = curve;
+        return (current != null ? current : loadCurve()).statistics();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        if (!enabled) {
+            writer.shutdownNow();
+            return;
+        }
+        if (!shutdownTimeout.isZero() && !shutdownTimeout.isNegative()) {
+            writer.execute(this::flush);
+        }
+        writer.shutdown();
+        if (!writer.awaitTermination(Math.max(0, shutdownTimeout.toMillis()), TimeUnit.MILLISECONDS)) {
+            writer.shutdownNow();
+        }
+        int lost = queue.size() + batch.size();
+        if (lost > 0) {
+            log.warn("Discarding {} review events that were not written before shutdown", lost);
+        }
+    }
+
+    private void requireJournal() {
+        if (jdbcTemplate == null || transactionTemplate == null) {
+            throw new ReadOnlyModeException("The review journal is not available in read-only mode");
+        }
+        if (!enabled) {
+            throw new IllegalStateException("The review journal is disabled, dictionary.journal.enabled is false");
+        }
+    }
+
+    /**
+     * Queues the events once the surrounding transaction, if any, has committed.
+     */
+    private void record(List<ReviewEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    private void enqueue(List<ReviewEvent> events) {
+        for (ReviewEvent event : events) {
+            if (!offer(event)) {
+                dropped.increment();
+            }
+        }
+        if (queue.size() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    private boolean offer(ReviewEvent event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        if (overflow == Overflow.DROP || closed) {
+            return false;
+        }
+        scheduleFlush();
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (!queue.offer(event)) {
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private void scheduleFlush() {
+        if (!closed && flushScheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued events in batches until the queue is empty or a batch fails.
+     * Runs on the writer thread only.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        if (curve == null && !closed) {
+            try {
+                // Batches written before the curve could be loaded are included in the aggregate
+                curve = loadCurve();
+            } catch (DataAccessException e) {
+                log.warn("Loading the retention statistics failed, retrying with the next flush: {}", e.getMessage());
+            }
+        }
+        reportDrops();
+        while (!Thread.currentThread().isInterrupted()) {
+            if (batch.isEmpty() && queue.drainTo(batch, batchSize) == 0) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), ReviewJournal::setValues));
+            } catch (DataAccessException e) {
+                log.warn("Writing {} review events failed, retrying with the next flush: {}", batch.size(), e.getMessage());
+                return;
+            }
+            written.increment(batch.size());
+            RetentionCurve current = curve;
+            if (current != null) {
+                batch.forEach(current::add);
+            }
+            batch.clear();
+        }
+    }
+
+    private void reportDrops() {
+        double drops = dropped.count();
+        if (drops > reportedDrops) {
+            log.warn("The review journal queue is full, {} review events have been discarded",
+                    (long) (drops - reportedDrops));
+            reportedDrops = drops;
+        }
+    }
+
+    private RetentionCurve loadCurve() {
+        RetentionCurve loaded = new RetentionCurve(intervals);
+        jdbcTemplate.query(CURVE_SQL, (RowCallbackHandler) rs -> loaded.add(
+                rs.getObject("previous_date_repeated", LocalDate.class),
+                rs.getObject("date_repeated", LocalDate.class),
+                rs.getInt("recalled") == 1,
+                rs.getLong("reviews")));
+        return loaded;
+    }
+
+    private static void setValues(PreparedStatement ps, ReviewEvent event) throws SQLException {
+        ps.setLong(1, event.wordId());
+        ps.setObject(2, event.reviewedAt().atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+        ps.setObject(3, event.previousLevel(), Types.INTEGER);
+        ps.setObject(4, event.newLevel(), Types.INTEGER);
+        ps.setObject(5, event.previousDateRepeated() == null ? null : Date.valueOf(event.previousDateRepeated()), Types.DATE);
+        ps.setObject(6, event.dateRepeated() == null ? null : Date.valueOf(event.dateRepeated()), Types.DATE);
+    }
+
+    private static ReviewEvent mapEvent(ResultSet rs, int row) throws SQLException {
+        return new ReviewEvent(
+                rs.getLong("word_id"),
+                rs.getObject("reviewed_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("previous_level", Integer.class),
+                rs.getObject("new_level", Integer.class),
+                rs.getObject("previous_date_repeated", LocalDate.class),
+                rs.getObject("date_repeated", LocalDate.class));
+    }
+}
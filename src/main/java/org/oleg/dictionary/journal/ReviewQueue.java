@@ -0,0 +1,82 @@
+package org.oleg.dictionary.journal;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded queue of review events between the request threads and the journal writer.
+ * <p>
+ * The events are held in a lock-free linked queue; a capacity slot is reserved with a compare-and-set on the
+ * size before an event is added and released after it has been taken, so producers never block each other and
+ * the size never exceeds the capacity. Instances are thread-safe for any number of producers and one consumer.
+ * </p>
+ */
+class ReviewQueue {
+
+    private final ConcurrentLinkedQueue<ReviewEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity the maximum number of events held
+     */
+    ReviewQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("dictionary.journal.capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds an event unless the queue is full.
+     *
+     * @param event the event to add
+     * @return {@code true} if the event was added
+     */
+    boolean offer(ReviewEvent event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        events.offer(event);
+        return true;
+    }
+
+    /**
+     * Moves the oldest events to a list.
+     *
+     * @param target the list to add the events to
+     * @param max    the maximum number of events to move
+     * @return the number of events moved
+     */
+    int drainTo(List<ReviewEvent> target, int max) {
+        int count = 0;
+        ReviewEvent event;
+        while (count < max && (event = events.poll()) != null) {
+            target.add(event);
+            count++;
+        }
+        size.addAndGet(-count);
+        return count;
+    }
+
+    /**
+     * @return the number of events held, including those being added
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the maximum number of events held
+     */
+    int capacity() {
+        return capacity;
+    }
+}
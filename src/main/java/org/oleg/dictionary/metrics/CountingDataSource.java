@@ -0,0 +1,102 @@
+package org.oleg.dictionary.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Data source that counts the statements executed and rows read through its connections
+ * in the {@link RequestStatistics} of the current request.
+ * <p>
+ * Connections, statements and result sets are wrapped in dynamic proxies that only observe
+ * the calls they pass on, so the driver and the connection pool see no difference.
+ * </p>
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final Set<String> RESULT_SET_METHODS = Set.of("executeQuery", "getResultSet", "getGeneratedKeys");
+
+    /**
+     * Creates a counting data source.
+     *
+     * @param target the data source to delegate to
+     */
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), CountingDataSource::connectionCall);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), CountingDataSource::connectionCall);
+    }
+
+    private static Object connectionCall(Object target, Method method, Object result) {
+        return switch (method.getName()) {
+            case "createStatement" -> proxy(Statement.class, (Statement) result, CountingDataSource::statementCall);
+            case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result,
+                    CountingDataSource::statementCall);
+            case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result,
+                    CountingDataSource::statementCall);
+            default -> result;
+        };
+    }
+
+    private static Object statementCall(Object target, Method method, Object result) {
+        String name = method.getName();
+        if (EXECUTE_METHODS.contains(name)) {
+            RequestStatistics.statementExecuted();
+        }
+        if (RESULT_SET_METHODS.contains(name) && result != null) {
+            return proxy(ResultSet.class, (ResultSet) result, CountingDataSource::resultSetCall);
+        }
+        return result;
+    }
+
+    private static Object resultSetCall(Object target, Method method, Object result) {
+        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            RequestStatistics.rowRead();
+        }
+        return result;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Observer observer) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return observer.observe(target, method, result);
+        };
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Looks at a call made through a proxy and decides what to return to the caller.
+     */
+    @FunctionalInterface
+    private interface Observer {
+
+        Object observe(Object target, Method method, Object result);
+    }
+}
@@ -0,0 +1,16 @@
+package org.oleg.dictionary.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate interceptor that counts the entities hydrated in the {@link RequestStatistics} of the current request.
+ */
+public class EntityCountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatistics.entityLoaded();
+        return false;
+    }
+}
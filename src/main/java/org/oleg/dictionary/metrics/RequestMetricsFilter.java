@@ -0,0 +1,81 @@
+package org.oleg.dictionary.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the database work of every API request as distribution summaries, tagged like Spring's
+ * {@code http.server.requests} timer with the HTTP method and the URI pattern of the endpoint:
+ * <ul>
+ *     <li>{@code dictionary.request.statements}: SQL statements executed</li>
+ *     <li>{@code dictionary.request.rows}: result set rows read</li>
+ *     <li>{@code dictionary.request.entities}: entities hydrated by Hibernate</li>
+ * </ul>
+ * A request that executes more statements than the threshold is logged as a warning.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final int statementWarnThreshold;
+
+    /**
+     * Creates the filter.
+     *
+     * @param registry               the registry to record the metrics in
+     * @param statementWarnThreshold the number of statements above which a request is logged
+     */
+    public RequestMetricsFilter(MeterRegistry registry, int statementWarnThreshold) {
+        this.registry = registry;
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatistics.stop();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("dictionary.request.statements", "SQL statements executed per request", request, uri)
+                .record(statistics.getStatements());
+        summary("dictionary.request.rows", "Result set rows read per request", request, uri)
+                .record(statistics.getRows());
+        summary("dictionary.request.entities", "Entities hydrated per request", request, uri)
+                .record(statistics.getEntities());
+
+        if (statistics.getStatements() > statementWarnThreshold) {
+            log.warn("{} {} executed {} SQL statements (threshold {}), read {} rows and hydrated {} entities",
+                    request.getMethod(), uri, statistics.getStatements(), statementWarnThreshold,
+                    statistics.getRows(), statistics.getEntities());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package org.oleg.dictionary.metrics;
+
+/**
+ * Database work done while handling the current request: SQL statements executed, rows read
+ * and entities hydrated. The counters are bound to the request thread; work done outside of a
+ * request, or on another thread, is not counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long entities;
+
+    private RequestStatistics() {
+    }
+
+    /**
+     * Starts counting for the current thread.
+     *
+     * @return the counters of the current request
+     */
+    static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops counting for the current thread.
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void statementExecuted() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void rowRead() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.rows++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entities++;
+        }
+    }
+
+    /**
+     * @return the number of SQL statements executed, counting a JDBC batch as one statement
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return the number of result set rows read
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the number of entities hydrated by Hibernate
+     */
+    public long getEntities() {
+        return entities;
+    }
+}
@@ -6,11 +6,13 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
 @Entity
+@DynamicUpdate // Updates write only the changed columns
 @Table(name = "finnish_dictionary")
 @Getter
 @Setter
@@ -71,6 +73,10 @@ public class FinnishWord {
     @Column
     private Integer frequency;
 
+    @Version // Incremented by every update; a stale version fails the update instead of overwriting
+    @Column(nullable = false)
+    private Long version;
+
     // Getter for calculated field
     public Long getDaysSinceLastRepeat() {
         if (this.dateRepeated != null) {
@@ -0,0 +1,24 @@
+package org.oleg.dictionary.model;
+
+import java.util.List;
+
+/**
+ * Result of a bulk import.
+ *
+ * @param imported        the number of rows written to the database
+ * @param failed          the number of rows that were rejected
+ * @param errors          the errors of the rejected rows, at most {@code maxErrors} of them
+ * @param errorsTruncated {@code true} if more rows failed than errors are reported
+ */
+public record ImportReport(long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+
+    /**
+     * Describes why a single row was rejected.
+     *
+     * @param row     the 1-based line number for NDJSON, or the 1-based number of the record after the header for
+     *                CSV; blank lines and records are counted
+     * @param message the reason the row was rejected
+     */
+    public record RowError(long row, String message) {
+    }
+}
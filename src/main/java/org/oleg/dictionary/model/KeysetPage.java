@@ -0,0 +1,13 @@
+package org.oleg.dictionary.model;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated list.
+ *
+ * @param items the words of the page, either full words or maps holding the selected fields
+ * @param next  the cursor to pass as {@code after} for the next page, or {@code null} on the last page
+ * @param <T>   the type of the items
+ */
+public record KeysetPage<T>(List<T> items, String next) {
+}
@@ -0,0 +1,20 @@
+package org.oleg.dictionary.model;
+
+import java.time.LocalDate;
+
+/**
+ * Describes the effect of a level upgrade on a single word.
+ *
+ * @param id                   the ID of the upgraded word
+ * @param previousLevel        the level before the upgrade, or {@code null} if the word had no level
+ * @param newLevel             the level after the upgrade
+ * @param previousDateRepeated the date of the previous repeat, or {@code null} if the word had never been repeated
+ * @param dateRepeated         the new repeat date
+ */
+public record LevelChange(
+        Long id,
+        Integer previousLevel,
+        int newLevel,
+        LocalDate previousDateRepeated,
+        LocalDate dateRepeated) {
+}
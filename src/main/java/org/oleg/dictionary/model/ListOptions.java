@@ -0,0 +1,106 @@
+package org.oleg.dictionary.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keyset pagination and projection options accepted by the list endpoints.
+ * As soon as any option is given, an endpoint returns a {@link KeysetPage} instead of a plain list.
+ *
+ * @param after   the cursor of the last word of the previous page, as returned in {@link KeysetPage#next()}
+ * @param orderBy {@code id} (default) or {@code dateRepeated}
+ * @param limit   the maximum number of words per page
+ * @param fields  a comma-separated list of word fields to return, or {@code summary} for all fields
+ *                except the long text fields; all fields are returned if not given
+ */
+public record ListOptions(String after, String orderBy, Integer limit, String fields) {
+
+    /**
+     * The number of words per page if no limit is given.
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * The largest accepted limit.
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * The fields returned for {@code fields=summary}: everything except the long text fields.
+     */
+    public static final List<String> SUMMARY_FIELDS = List.of("id", "word", "level", "dateAdded", "dateRepeated",
+            "category", "category2", "source", "popularity", "repeatAgain", "frequency");
+
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "dateAdded", "dateRepeated", "level", "word",
+            "translation", "category", "category2", "source", "popularity", "repeatAgain", "comment", "example",
+            "synonyms", "wordFormation", "frequency");
+
+    /**
+     * @return {@code true} if any option is given
+     */
+    public boolean isRequested() {
+        return after != null || orderBy != null || limit != null || fields != null;
+    }
+
+    /**
+     * @return the requested order
+     * @throws IllegalArgumentException if the order is not known
+     */
+    public WordOrder order() {
+        return WordOrder.fromParameter(orderBy);
+    }
+
+    /**
+     * @return the cursor to continue after, or {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor does not match the order
+     */
+    public WordCursor cursor() {
+        return after == null || after.isEmpty() ? null : WordCursor.parse(after, order());
+    }
+
+    /**
+     * @return the page size, capped at {@link #MAX_LIMIT}
+     */
+    public int pageSize() {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Resolves the requested fields. The ID, and for the date order the repeat date,
+     * are always included because the cursor is built from them.
+     *
+     * @return the fields to select, or {@code null} to return full words
+     * @throws IllegalArgumentException if an unknown field is requested
+     */
+    public List<String> selectedFields() {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<String> requested = fields.trim().equals("summary")
+                ? SUMMARY_FIELDS
+                : Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).toList();
+
+        List<String> selected = new ArrayList<>();
+        selected.add("id");
+        if (order() == WordOrder.DATE_REPEATED) {
+            selected.add("dateRepeated");
+        }
+        for (String field : requested) {
+            if (!SELECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,34 @@
+package org.oleg.dictionary.model;
+
+/**
+ * Policies deciding which words of a level are due for repetition.
+ */
+public enum RepeatPolicy {
+
+    /**
+     * The words repeated longest ago, that is, all words sharing the earliest repeat date of the level.
+     */
+    OLDEST,
+
+    /**
+     * All words whose last repeat is at least the configured interval of their level ago, oldest first.
+     */
+    INTERVAL;
+
+    /**
+     * Parses a policy from its request parameter value.
+     *
+     * @param value {@code oldest} or {@code interval}; {@code null} selects {@link #OLDEST}
+     * @return the policy
+     * @throws IllegalArgumentException if the value is not a known policy
+     */
+    public static RepeatPolicy fromParameter(String value) {
+        if (value == null || value.equals("oldest")) {
+            return OLDEST;
+        }
+        if (value.equals("interval")) {
+            return INTERVAL;
+        }
+        throw new IllegalArgumentException("Unknown repeat policy: " + value);
+    }
+}
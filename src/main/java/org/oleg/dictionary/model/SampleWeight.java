@@ -0,0 +1,86 @@
+package org.oleg.dictionary.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Weightings of a random word sample. Among the candidates of a sample, a word with twice the weight is twice as
+ * likely to be picked next. The candidates are a uniform random subset of the matching words, five per requested
+ * word, so when there are more matches than candidates the effect of large weights is capped: a word is at most
+ * five times as likely to be in the sample as without weights.
+ */
+public enum SampleWeight {
+
+    /**
+     * Every word is equally likely.
+     */
+    NONE {
+        @Override
+        public double weight(FinnishWord word, LocalDate today) {
+            return 1;
+        }
+    },
+
+    /**
+     * Words at lower levels are more likely: a word at level {@code n} weighs {@code 1 / (n + 1)}.
+     */
+    LEVEL {
+        @Override
+        public double weight(FinnishWord word, LocalDate today) {
+            int level = word.getLevel() != null ? Math.max(word.getLevel(), 0) : 0;
+            return 1.0 / (level + 1);
+        }
+    },
+
+    /**
+     * Words marked to be repeated again are four times as likely as the others.
+     */
+    REPEAT_AGAIN {
+        @Override
+        public double weight(FinnishWord word, LocalDate today) {
+            return word.getRepeatAgain() != null && word.getRepeatAgain() > 0 ? 4 : 1;
+        }
+    },
+
+    /**
+     * Words repeated longer ago are more likely: a word weighs one plus the number of days since its last repeat.
+     * Words never repeated weigh as much as words repeated a year ago.
+     */
+    AGE {
+        @Override
+        public double weight(FinnishWord word, LocalDate today) {
+            long days = word.getDateRepeated() != null
+                    ? ChronoUnit.DAYS.between(word.getDateRepeated(), today)
+                    : 365;
+            return 1 + Math.max(days, 0);
+        }
+    };
+
+    /**
+     * Computes the weight of a word.
+     *
+     * @param word  the word
+     * @param today the current date
+     * @return the weight, greater than zero
+     */
+    public abstract double weight(FinnishWord word, LocalDate today);
+
+    /**
+     * Parses a weighting from its request parameter value.
+     *
+     * @param value {@code none}, {@code level}, {@code repeatAgain} or {@code age}; {@code null} selects {@link #NONE}
+     * @return the weighting
+     * @throws IllegalArgumentException if the value is not a known weighting
+     */
+    public static SampleWeight fromParameter(String value) {
+        if (value == null || value.equals("none")) {
+            return NONE;
+        }
+        return switch (value) {
+            case "level" -> LEVEL;
+            case "repeatAgain" -> REPEAT_AGAIN;
+            case "age" -> AGE;
+            default -> throw new IllegalArgumentException("Unknown sample weight: " + value);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package org.oleg.dictionary.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request body of the batch upgrade endpoint.
+ *
+ * @param ids  the IDs of the words to upgrade
+ * @param date the new repeat date, or {@code null} for the current date
+ */
+public record UpgradeRequest(List<Long> ids, LocalDate date) {
+}
@@ -0,0 +1,12 @@
+package org.oleg.dictionary.model;
+
+import java.util.List;
+
+/**
+ * Response body of the batch upgrade endpoint.
+ *
+ * @param updated  the IDs of the words whose level was incremented
+ * @param notFound the requested IDs that do not exist
+ */
+public record UpgradeResult(List<Long> updated, List<Long> notFound) {
+}
@@ -0,0 +1,57 @@
+package org.oleg.dictionary.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position of the last word of a keyset page. The next page starts right after it.
+ *
+ * @param dateRepeated the repeat date of the last word, used by {@link WordOrder#DATE_REPEATED}
+ * @param id           the ID of the last word
+ */
+public record WordCursor(LocalDate dateRepeated, long id) {
+
+    /**
+     * Creates the cursor pointing after the given word.
+     *
+     * @param word the last word of a page
+     * @return the cursor
+     */
+    public static WordCursor after(FinnishWord word) {
+        return new WordCursor(word.getDateRepeated(), word.getId());
+    }
+
+    /**
+     * Parses a cursor from its request parameter value.
+     *
+     * @param value the value produced by {@link #format(WordOrder)}
+     * @param order the order the cursor belongs to
+     * @return the cursor
+     * @throws IllegalArgumentException if the value does not match the order
+     */
+    public static WordCursor parse(String value, WordOrder order) {
+        try {
+            if (order == WordOrder.ID) {
+                return new WordCursor(null, Long.parseLong(value));
+            }
+            int separator = value.indexOf(',');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            return new WordCursor(LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+
+    /**
+     * Formats the cursor as a request parameter value.
+     *
+     * @param order the order the cursor belongs to
+     * @return the cursor value
+     */
+    public String format(WordOrder order) {
+        return order == WordOrder.ID ? Long.toString(id) : dateRepeated + "," + id;
+    }
+}
@@ -0,0 +1,130 @@
+package org.oleg.dictionary.model;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Number of words per value of each facet field, among the words matching a filter.
+ * Text values are lower-cased, like the filter compares them, and ordered by descending count;
+ * numeric values are ordered ascending. Words without a value are only counted in {@code total}.
+ *
+ * @param total      the number of matching words
+ * @param category   the number of matching words per category
+ * @param category2  the number of matching words per second category
+ * @param source     the number of matching words per source
+ * @param level      the number of matching words per level
+ * @param popularity the number of matching words per popularity
+ */
+public record WordFacets(
+        long total,
+        Map<String, Long> category,
+        Map<String, Long> category2,
+        Map<String, Long> source,
+        Map<Integer, Long> level,
+        Map<Integer, Long> popularity) {
+
+    /**
+     * Accumulates facet counts. Counts for the same value are added up.
+     */
+    public static class Builder {
+
+        private long total;
+        private final Map<String, Long> category = new HashMap<>();
+        private final Map<String, Long> category2 = new HashMap<>();
+        private final Map<String, Long> source = new HashMap<>();
+        private final Map<Integer, Long> level = new TreeMap<>();
+        private final Map<Integer, Long> popularity = new TreeMap<>();
+
+        /**
+         * Adds words to the total.
+         *
+         * @param count the number of words
+         * @return this builder
+         */
+        public Builder total(long count) {
+            total += count;
+            return this;
+        }
+
+        /**
+         * Adds words with the given category.
+         *
+         * @param value the category, or {@code null}
+         * @param count the number of words
+         * @return this builder
+         */
+        public Builder category(String value, long count) {
+            return add(category, value, count);
+        }
+
+        /**
+         * Adds words with the given second category.
+         *
+         * @param value the second category, or {@code null}
+         * @param count the number of words
+         * @return this builder
+         */
+        public Builder category2(String value, long count) {
+            return add(category2, value, count);
+        }
+
+        /**
+         * Adds words with the given source.
+         *
+         * @param value the source, or {@code null}
+         * @param count the number of words
+         * @return this builder
+         */
+        public Builder source(String value, long count) {
+            return add(source, value, count);
+        }
+
+        /**
+         * Adds words with the given level.
+         *
+         * @param value the level, or {@code null}
+         * @param count the number of words
+         * @return this builder
+         */
+        public Builder level(Integer value, long count) {
+            return add(level, value, count);
+        }
+
+        /**
+         * Adds words with the given popularity.
+         *
+         * @param value the popularity, or {@code null}
+         * @param count the number of words
+         * @return this builder
+         */
+        public Builder popularity(Integer value, long count) {
+            return add(popularity, value, count);
+        }
+
+        /**
+         * @return the accumulated facets
+         */
+        public WordFacets build() {
+            return new WordFacets(total, byCount(category), byCount(category2), byCount(source), level, popularity);
+        }
+
+        private <K> Builder add(Map<K, Long> counts, K value, long count) {
+            if (value != null && count > 0) {
+                counts.merge(value, count, Long::sum);
+            }
+            return this;
+        }
+
+        private static Map<String, Long> byCount(Map<String, Long> counts) {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+    }
+}
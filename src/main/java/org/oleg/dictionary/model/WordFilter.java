@@ -0,0 +1,26 @@
+package org.oleg.dictionary.model;
+
+/**
+ * Filter criteria accepted by the word filter endpoints.
+ * Every criterion is optional; a {@code null} (or, for the text criteria, blank) value means
+ * that the criterion is not applied.
+ *
+ * @param daysSinceLastRepeat exact number of days since the word was last repeated
+ * @param level               the level of the word
+ * @param popularity          the popularity of the word
+ * @param frequency           the maximum frequency rank of the word
+ * @param source              the source of the word, compared case-insensitively
+ * @param category1           the first category of the word, compared case-insensitively
+ * @param category2           the second category of the word, compared case-insensitively
+ * @param repeatAgain         the repeatAgain flag of the word
+ */
+public record WordFilter(
+        Long daysSinceLastRepeat,
+        Integer level,
+        Integer popularity,
+        Integer frequency,
+        String source,
+        String category1,
+        String category2,
+        Integer repeatAgain) {
+}
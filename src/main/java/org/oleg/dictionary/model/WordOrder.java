@@ -0,0 +1,34 @@
+package org.oleg.dictionary.model;
+
+/**
+ * Orders supported by keyset pagination. Every order ends with the word ID, which makes it unique.
+ */
+public enum WordOrder {
+
+    /**
+     * Ascending by ID.
+     */
+    ID,
+
+    /**
+     * Ascending by repeat date, then by ID. Words that have never been repeated are not part of this order.
+     */
+    DATE_REPEATED;
+
+    /**
+     * Parses an order from its request parameter value.
+     *
+     * @param value {@code id} or {@code dateRepeated}; {@code null} selects {@link #ID}
+     * @return the order
+     * @throws IllegalArgumentException if the value is not a known order
+     */
+    public static WordOrder fromParameter(String value) {
+        if (value == null || value.equals("id")) {
+            return ID;
+        }
+        if (value.equals("dateRepeated")) {
+            return DATE_REPEATED;
+        }
+        throw new IllegalArgumentException("Unknown order: " + value);
+    }
+}
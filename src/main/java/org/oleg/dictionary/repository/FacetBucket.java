@@ -0,0 +1,24 @@
+package org.oleg.dictionary.repository;
+
+/**
+ * One bucket of the facet aggregate: the number of words with one value of one facet field, which is the only
+ * field that is not {@code null}. The bucket without any value holds the number of all matching words.
+ * The text fields are lower-cased.
+ *
+ * @param category   the category, or {@code null}
+ * @param category2  the second category, or {@code null}
+ * @param source     the source, or {@code null}
+ * @param level      the level, or {@code null}
+ * @param popularity the popularity, or {@code null}
+ * @param count      the number of words in the bucket
+ */
+public record FacetBucket(String category, String category2, String source, Integer level, Integer popularity,
+                          Long count) {
+
+    /**
+     * @return {@code true} if this bucket holds the number of all matching words
+     */
+    public boolean isTotal() {
+        return category == null && category2 == null && source == null && level == null && popularity == null;
+    }
+}
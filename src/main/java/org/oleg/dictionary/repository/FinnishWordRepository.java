@@ -1,43 +1,95 @@
 package org.oleg.dictionary.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.oleg.dictionary.model.FinnishWord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository interface for performing CRUD operations on the {@link FinnishWord} entity.
  * Extends the {@link JpaRepository} interface, which provides methods for basic CRUD operations.
  * Spring Data JPA automatically generates the appropriate JPQL or SQL queries based on the method names.
+ * Dynamic queries are supported through {@link JpaSpecificationExecutor} together with
+ * {@link FinnishWordSpecifications}, keyset pagination and projections through {@link FinnishWordRepositoryCustom}.
  */
 @Repository
-public interface FinnishWordRepository extends JpaRepository<FinnishWord, Long> {
+public interface FinnishWordRepository extends JpaRepository<FinnishWord, Long>, JpaSpecificationExecutor<FinnishWord>,
+        FinnishWordRepositoryCustom {
+
+    /**
+     * Aggregate query counting words per level and date of the last repeat.
+     * The result contains one row per distinct (level, date_repeated) pair, so its size depends on
+     * the number of buckets rather than on the number of words.
+     *
+     * @return a list of {@link LevelRepeatCount} buckets
+     */
+    @Query("select w.level as level, w.dateRepeated as dateRepeated, count(w) as count "
+            + "from FinnishWord w group by w.level, w.dateRepeated")
+    List<LevelRepeatCount> countByLevelAndDateRepeated();
+
+    /**
+     * Summarizes the table in one aggregate query, to find out whether it has changed since an earlier summary.
+     *
+     * @return the {@link TableFingerprint} of the table
+     */
+    @Query("select new org.oleg.dictionary.repository.TableFingerprint(count(w), coalesce(max(w.id), 0L), "
+            + "coalesce(sum(w.version), 0L)) from FinnishWord w")
+    TableFingerprint fingerprint();
+
+    /**
+     * Reads the highest ID from the primary key index.
+     *
+     * @return the highest ID, or {@code null} if the table is empty
+     */
+    @Query("select max(w.id) from FinnishWord w")
+    Long findMaxId();
 
     /**
-     * Custom query to search words by their word field.
-     * The generated query will search for Finnish words that contain the given string.
+     * Streams all words through a database cursor, reading a fixed number of rows per round trip.
+     * The stream must be consumed inside a transaction and closed afterwards.
      *
-     * @param word the word or substring to search for
-     * @return a list of {@link FinnishWord} objects containing the given word
+     * @return a stream of all {@link FinnishWord} objects ordered by ID
      */
-    List<FinnishWord> findByWordContaining(String word);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select w from FinnishWord w order by w.id")
+    Stream<FinnishWord> streamAll();
 
     /**
-     * Custom query to search words by their translation field.
-     * The generated query will search for Finnish words that contain the given translation string.
+     * Reads and locks the repetition state of the given words until the end of the current transaction.
+     * The rows are locked in ID order, so that transactions locking overlapping words cannot deadlock.
      *
-     * @param translation the translation or substring to search for
-     * @return a list of {@link FinnishWord} objects with translations containing the given string
+     * @param ids the IDs of the words
+     * @return the level and repeat date of every existing word
      */
-    List<FinnishWord> findByTranslationContaining(String translation);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w.id as id, w.level as level, w.dateRepeated as dateRepeated from FinnishWord w where w.id in :ids "
+            + "order by w.id")
+    List<WordLevel> lockLevels(@Param("ids") Collection<Long> ids);
 
     /**
-     * Custom query to search words by their level field.
-     * The generated query will search for Finnish words that match the given level.
+     * Increments the level of the given words by one and sets their repeat date in a single statement.
+     * Words without a level are treated as level 0. The version of the words is advanced as well.
      *
-     * @param level the level of the word to search for
-     * @return a list of {@link FinnishWord} objects with the specified level
+     * @param ids  the IDs of the words to upgrade
+     * @param date the new repeat date
+     * @return the number of updated rows
      */
-    List<FinnishWord> findByLevel(Integer level);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update FinnishWord w set w.level = coalesce(w.level, 0) + 1, w.dateRepeated = :date, w.version = w.version + 1 "
+            + "where w.id in :ids")
+    int upgradeLevels(@Param("ids") Collection<Long> ids, @Param("date") LocalDate date);
 }
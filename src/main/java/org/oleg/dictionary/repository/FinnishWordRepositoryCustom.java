@@ -0,0 +1,59 @@
+package org.oleg.dictionary.repository;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordCursor;
+import org.oleg.dictionary.model.WordOrder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom queries of {@link FinnishWordRepository} that cannot be derived from method names.
+ * They implement keyset (seek) pagination, which reads only the requested page no matter how far
+ * into the table it is, projections that read only selected columns, ordered loading by ID and facet counts.
+ */
+public interface FinnishWordRepositoryCustom {
+
+    /**
+     * Loads words by their IDs with Hibernate's multi-load, which skips words already in the persistence context
+     * and avoids translating a new criteria query for every call.
+     *
+     * @param ids the IDs of the words
+     * @return the existing words, in the order of the IDs
+     */
+    List<FinnishWord> findAllByIdInOrder(List<Long> ids);
+
+    /**
+     * Reads the page of words following the given cursor.
+     *
+     * @param spec  the criteria the words must match
+     * @param order the order of the words
+     * @param after the cursor of the last word of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of words
+     * @return the words of the page
+     */
+    List<FinnishWord> findPage(Specification<FinnishWord> spec, WordOrder order, WordCursor after, int limit);
+
+    /**
+     * Reads selected fields of the page of words following the given cursor.
+     *
+     * @param spec   the criteria the words must match
+     * @param fields the names of the fields to read
+     * @param order  the order of the words
+     * @param after  the cursor of the last word of the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of words
+     * @return one map per word, holding the selected fields in the requested order
+     */
+    List<Map<String, Object>> findPageFields(Specification<FinnishWord> spec, List<String> fields,
+                                             WordOrder order, WordCursor after, int limit);
+
+    /**
+     * Counts the words matching the criteria per value of each facet field, in one query that combines
+     * one grouped select per facet field with UNION ALL.
+     *
+     * @param spec the criteria the words must match
+     * @return one bucket per facet field and value, and one bucket with the total
+     */
+    List<FacetBucket> countFacets(Specification<FinnishWord> spec);
+}
@@ -0,0 +1,185 @@
+package org.oleg.dictionary.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordCursor;
+import org.oleg.dictionary.model.WordOrder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Criteria API implementation of {@link FinnishWordRepositoryCustom}.
+ */
+public class FinnishWordRepositoryImpl implements FinnishWordRepositoryCustom {
+
+    /**
+     * The facet fields, in the order of the {@link FacetBucket} components; the first three are text fields.
+     */
+    private static final List<String> FACETS = List.of("category", "category2", "source", "level", "popularity");
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor that injects the entity manager.
+     *
+     * @param entityManager the entity manager used to run the queries
+     */
+    public FinnishWordRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FinnishWord> findAllByIdInOrder(List<Long> ids) {
+        List<FinnishWord> words = entityManager.unwrap(Session.class)
+                .byMultipleIds(FinnishWord.class)
+                .multiLoad(ids);
+        // Missing words are returned as null entries
+        List<FinnishWord> result = new ArrayList<>(words.size());
+        for (FinnishWord word : words) {
+            if (word != null) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<FinnishWord> findPage(Specification<FinnishWord> spec, WordOrder order, WordCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FinnishWord> query = cb.createQuery(FinnishWord.class);
+        Root<FinnishWord> root = query.from(FinnishWord.class);
+
+        query.select(root);
+        applyKeyset(spec, order, after, root, query, cb);
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findPageFields(Specification<FinnishWord> spec, List<String> fields,
+                                                    WordOrder order, WordCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<FinnishWord> root = query.from(FinnishWord.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        applyKeyset(spec, order, after, root, query, cb);
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, tuple.get(field));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    @Override
+    public List<FacetBucket> countFacets(Specification<FinnishWord> spec) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<?>[] facets = IntStream.range(0, FACETS.size())
+                .mapToObj(facet -> facetQuery(cb, spec, facet))
+                .toArray(CriteriaQuery[]::new);
+        JpaCriteriaQuery<Tuple> query = cb.unionAll(facetQuery(cb, spec, FACETS.size()), facets);
+
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            buckets.add(new FacetBucket(tuple.get(0, String.class), tuple.get(1, String.class),
+                    tuple.get(2, String.class), tuple.get(3, Integer.class), tuple.get(4, Integer.class),
+                    tuple.get(5, Long.class)));
+        }
+        return buckets;
+    }
+
+    /**
+     * Builds the part of the facet query that counts the matching words per value of one facet field.
+     * The other facet columns are {@code null}, and words without a value for the field are skipped.
+     *
+     * @param facet the index of the facet field in {@link #FACETS}, or the number of facets for the total count,
+     *              where all facet columns are {@code null}
+     */
+    private static JpaCriteriaQuery<Tuple> facetQuery(HibernateCriteriaBuilder cb, Specification<FinnishWord> spec,
+                                                      int facet) {
+        JpaCriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<FinnishWord> root = query.from(FinnishWord.class);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate criteria = spec.toPredicate(root, query, cb);
+        if (criteria != null) {
+            predicates.add(criteria);
+        }
+        for (int i = 0; i < FACETS.size(); i++) {
+            boolean text = i < 3;
+            if (i == facet) {
+                Path<?> path = root.get(FACETS.get(i));
+                Expression<?> value = text ? cb.lower(root.get(FACETS.get(i))) : path;
+                columns.add(value);
+                predicates.add(cb.isNotNull(path));
+                query.groupBy(value);
+            } else {
+                // Typed, because PostgreSQL would resolve a column of untyped nulls in two parts to text
+                Class<?> type = text ? String.class : Integer.class;
+                columns.add(cb.cast(cb.nullLiteral(type), type));
+            }
+        }
+        columns.add(cb.count(root));
+        return query.multiselect(columns).where(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Adds the criteria, the keyset condition and the matching ORDER BY clause to a query.
+     */
+    private static void applyKeyset(Specification<FinnishWord> spec, WordOrder order, WordCursor after,
+                                    Root<FinnishWord> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate criteria = spec.toPredicate(root, query, cb);
+        if (criteria != null) {
+            predicates.add(criteria);
+        }
+
+        Path<Long> id = root.get("id");
+        if (order == WordOrder.ID) {
+            if (after != null) {
+                predicates.add(cb.greaterThan(id, after.id()));
+            }
+            query.orderBy(cb.asc(id));
+        } else {
+            Path<LocalDate> dateRepeated = root.get("dateRepeated");
+            predicates.add(cb.isNotNull(dateRepeated));
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.greaterThan(dateRepeated, after.dateRepeated()),
+                        cb.and(cb.equal(dateRepeated, after.dateRepeated()), cb.greaterThan(id, after.id()))));
+            }
+            query.orderBy(cb.asc(dateRepeated), cb.asc(id));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+    }
+}
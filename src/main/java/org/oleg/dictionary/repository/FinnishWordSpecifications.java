@@ -0,0 +1,190 @@
+package org.oleg.dictionary.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Factory for JPA {@link Specification}s over the {@link FinnishWord} entity.
+ * The specifications translate filter criteria into SQL predicates, so that filtering
+ * happens in the database instead of in memory.
+ */
+public final class FinnishWordSpecifications {
+
+    private FinnishWordSpecifications() {
+    }
+
+    /**
+     * Builds a specification matching all criteria of the given filter.
+     * The number of days since the last repeat is translated into a comparison on the
+     * {@code date_repeated} column relative to the current date.
+     *
+     * @param filter the filter criteria
+     * @return a specification combining every non-empty criterion with AND
+     */
+    public static Specification<FinnishWord> matching(WordFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.daysSinceLastRepeat() != null) {
+                LocalDate repeatedOn = LocalDate.now().minusDays(filter.daysSinceLastRepeat());
+                predicates.add(cb.equal(root.get("dateRepeated"), repeatedOn));
+            }
+            if (filter.level() != null) {
+                predicates.add(cb.equal(root.get("level"), filter.level()));
+            }
+            if (filter.popularity() != null) {
+                predicates.add(cb.equal(root.get("popularity"), filter.popularity()));
+            }
+            if (filter.frequency() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("frequency"), filter.frequency()));
+            }
+            if (hasText(filter.source())) {
+                predicates.add(cb.equal(cb.lower(root.get("source")), filter.source().toLowerCase(Locale.ROOT)));
+            }
+            if (hasText(filter.category1())) {
+                predicates.add(cb.equal(cb.lower(root.get("category")), filter.category1().toLowerCase(Locale.ROOT)));
+            }
+            if (hasText(filter.category2())) {
+                predicates.add(cb.equal(cb.lower(root.get("category2")), filter.category2().toLowerCase(Locale.ROOT)));
+            }
+            if (filter.repeatAgain() != null) {
+                predicates.add(cb.equal(root.get("repeatAgain"), filter.repeatAgain()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds a specification matching words whose {@code word} field contains the given text, ignoring case.
+     *
+     * @param text the text to search for; LIKE wildcards in it are matched literally
+     * @return the specification
+     */
+    public static Specification<FinnishWord> wordContains(String text) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("word")), containsPattern(text), '\\');
+    }
+
+    /**
+     * Builds a specification matching words whose {@code translation} field contains the given text, ignoring case.
+     *
+     * @param text the text to search for; LIKE wildcards in it are matched literally
+     * @return the specification
+     */
+    public static Specification<FinnishWord> translationContains(String text) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("translation")), containsPattern(text), '\\');
+    }
+
+    /**
+     * Builds a specification matching words whose {@code word} field starts with the given text, ignoring case.
+     *
+     * @param text the text to search for; LIKE wildcards in it are matched literally
+     * @return the specification
+     */
+    public static Specification<FinnishWord> wordStartsWith(String text) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("word")), escape(text) + "%", '\\');
+    }
+
+    /**
+     * Builds a specification matching words whose {@code translation} field starts with the given text,
+     * ignoring case.
+     *
+     * @param text the text to search for; LIKE wildcards in it are matched literally
+     * @return the specification
+     */
+    public static Specification<FinnishWord> translationStartsWith(String text) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("translation")), escape(text) + "%", '\\');
+    }
+
+    /**
+     * Builds a specification matching words whose {@code word} or {@code wordFormation} field, and optionally
+     * whose {@code synonyms} field, contains the given text, ignoring case. The match is a superset of the words
+     * having the text as a form; callers discard the words where it is only part of a longer token.
+     *
+     * @param text            the text to search for; LIKE wildcards in it are matched literally
+     * @param includeSynonyms whether the {@code synonyms} field is searched as well
+     * @return the specification
+     */
+    public static Specification<FinnishWord> formContains(String text, boolean includeSynonyms) {
+        return (root, query, cb) -> {
+            String pattern = containsPattern(text);
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.like(cb.lower(root.get("word")), pattern, '\\'));
+            predicates.add(cb.like(cb.lower(root.get("wordFormation")), pattern, '\\'));
+            if (includeSynonyms) {
+                predicates.add(cb.like(cb.lower(root.get("synonyms")), pattern, '\\'));
+            }
+            return cb.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds a specification matching the words with the given IDs.
+     *
+     * @param ids the IDs of the words
+     * @return the specification
+     */
+    public static Specification<FinnishWord> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Builds a specification matching the words of a level that were repeated longest ago,
+     * that is, whose repeat date equals the earliest repeat date of the level.
+     *
+     * @param level the level of the words
+     * @return the specification
+     */
+    public static Specification<FinnishWord> oldestRepeatAtLevel(int level) {
+        return (root, query, cb) -> {
+            Subquery<LocalDate> oldest = query.subquery(LocalDate.class);
+            Root<FinnishWord> other = oldest.from(FinnishWord.class);
+            oldest.select(cb.least(other.<LocalDate>get("dateRepeated")))
+                    .where(cb.equal(other.get("level"), level));
+            return cb.and(
+                    cb.equal(root.get("level"), level),
+                    cb.equal(root.get("dateRepeated"), oldest));
+        };
+    }
+
+    /**
+     * Builds a specification matching the words of a level that were last repeated on or before the given date.
+     *
+     * @param level the level of the words
+     * @param date  the latest repeat date
+     * @return the specification
+     */
+    public static Specification<FinnishWord> repeatedOnOrBefore(int level, LocalDate date) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("level"), level),
+                cb.lessThanOrEqualTo(root.get("dateRepeated"), date));
+    }
+
+    private static String containsPattern(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    /**
+     * Lower-cases the text and escapes the LIKE wildcards in it.
+     */
+    private static String escape(String text) {
+        return text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,25 @@
+package org.oleg.dictionary.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of one bucket of the level / repeat date aggregate.
+ * Each bucket holds the number of words sharing the same level and the same date of the last repeat.
+ */
+public interface LevelRepeatCount {
+
+    /**
+     * @return the level of the words in the bucket, or {@code null} for words without a level
+     */
+    Integer getLevel();
+
+    /**
+     * @return the date the words in the bucket were last repeated, or {@code null} if never repeated
+     */
+    LocalDate getDateRepeated();
+
+    /**
+     * @return the number of words in the bucket
+     */
+    Long getCount();
+}
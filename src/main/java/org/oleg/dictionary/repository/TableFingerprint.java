@@ -0,0 +1,12 @@
+package org.oleg.dictionary.repository;
+
+/**
+ * Summary of the dictionary table that changes with every write made through the application: inserts raise the
+ * highest ID, deletes lower the count, and updates advance the version of the updated word and with it the sum.
+ *
+ * @param count      the number of words
+ * @param maxId      the highest ID, or 0 if the table is empty
+ * @param versionSum the sum of the versions of all words
+ */
+public record TableFingerprint(long count, long maxId, long versionSum) {
+}
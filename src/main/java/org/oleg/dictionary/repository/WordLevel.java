@@ -0,0 +1,24 @@
+package org.oleg.dictionary.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the repetition state of a single word.
+ */
+public interface WordLevel {
+
+    /**
+     * @return the ID of the word
+     */
+    Long getId();
+
+    /**
+     * @return the level of the word, or {@code null} if the word has no level
+     */
+    Integer getLevel();
+
+    /**
+     * @return the date the word was last repeated, or {@code null} if never repeated
+     */
+    LocalDate getDateRepeated();
+}
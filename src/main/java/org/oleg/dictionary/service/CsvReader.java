@@ -0,0 +1,91 @@
+package org.oleg.dictionary.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming reader for RFC 4180 style CSV.
+ * Fields may be quoted with double quotes, in which case they can contain separators,
+ * line breaks and doubled quotes. Only one record is held in memory at a time.
+ */
+class CsvReader {
+
+    private final Reader reader;
+    private int next = -2;
+
+    /**
+     * Creates a reader over the given character stream.
+     *
+     * @param reader the CSV input; buffering is expected to be done by the caller
+     */
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input
+     * @throws IOException if the input cannot be read or a quoted field is not terminated
+     */
+    List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        next = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (next != -2) {
+            int c = next;
+            next = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
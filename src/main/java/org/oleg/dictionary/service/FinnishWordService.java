@@ -1,28 +1,157 @@
 package org.oleg.dictionary.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import org.oleg.dictionary.cache.WordCache;
+import org.oleg.dictionary.index.ColumnarSnapshot;
+import org.oleg.dictionary.index.IdSampler;
+import org.oleg.dictionary.index.RepetitionQueue;
+import org.oleg.dictionary.index.WordChangeDispatcher;
+import org.oleg.dictionary.index.WordLookupIndex;
+import org.oleg.dictionary.index.WordSearchIndex;
+import org.oleg.dictionary.journal.ReviewJournal;
 import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.KeysetPage;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.ListOptions;
+import org.oleg.dictionary.model.RepeatPolicy;
+import org.oleg.dictionary.model.SampleWeight;
+import org.oleg.dictionary.model.WordCursor;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.model.WordOrder;
+import org.oleg.dictionary.repository.FacetBucket;
 import org.oleg.dictionary.repository.FinnishWordRepository;
+import org.oleg.dictionary.repository.FinnishWordSpecifications;
+import org.oleg.dictionary.repository.LevelRepeatCount;
+import org.oleg.dictionary.repository.TableFingerprint;
+import org.oleg.dictionary.repository.WordLevel;
+import org.oleg.dictionary.snapshot.MappedSnapshot;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.oleg.dictionary.snapshot.SnapshotStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer class for managing Finnish words.
  * It interacts with the {@link FinnishWordRepository} to perform CRUD operations and business logic.
+ * In read-only mode there is no database: words are read from the mapped snapshot of the {@link SnapshotStore},
+ * queries are answered by the in-memory indexes loaded from it, and everything else fails with a
+ * {@link ReadOnlyModeException}.
  */
 @Service
 public class FinnishWordService {
 
+    /**
+     * Upper bound for the number of results returned by a search.
+     */
+    public static final int MAX_SEARCH_LIMIT = 1000;
+
+    /**
+     * Upper bound for the number of words returned by a sample.
+     */
+    public static final int MAX_SAMPLE_SIZE = 1000;
+
+    /**
+     * Maximum number of IDs bound in one {@code IN} list.
+     */
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of matching candidates collected per sampled word, so that weights can take effect.
+     */
+    private static final int SAMPLE_OVERSAMPLING = 5;
+
+    private static final int SAMPLE_ROUNDS = 3;
+
+    /**
+     * Number of random positions in ID order the sample candidates are read from when the database has to be scanned.
+     */
+    private static final int SAMPLE_WINDOWS = 16;
+
+    /**
+     * Fields read for the sample candidates: the ID and the fields the weights depend on.
+     */
+    private static final List<String> SAMPLE_FIELDS = List.of("id", "level", "repeatAgain", "dateRepeated");
+
+    /**
+     * Number of candidate rows read per query by the form lookup in the database.
+     */
+    private static final int LOOKUP_PAGE_SIZE = 1000;
+
+    /**
+     * Fields read for the candidates of the form lookup in the database: the ID and the fields holding forms.
+     */
+    private static final List<String> LOOKUP_FIELDS = List.of("id", "word", "wordFormation", "synonyms");
+
+    private static final WordFilter NO_FILTER = new WordFilter(null, null, null, null, null, null, null, null);
+
     private final FinnishWordRepository repository;
+    private final EntityManager entityManager;
+    private final WordSearchIndex searchIndex;
+    private final WordLookupIndex lookupIndex;
+    private final RepetitionQueue repetitionQueue;
+    private final WordChangeDispatcher dispatcher;
+    private final ColumnarSnapshot columnar;
+    private final IdSampler idSampler;
+    private final SnapshotStore snapshots;
+    private final WordCache cache;
+    private final ReviewJournal journal;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Constructor that injects the FinnishWordRepository.
+     * Constructor that injects the FinnishWordRepository, the in-memory indexes, the snapshot store, the cache,
+     * the review journal and the object mapper.
      *
-     * @param repository the repository used for data access
+     * @param repository      the repository used for data access, unavailable in read-only mode
+     * @param entityManager   the entity manager used to detach exported words, unavailable in read-only mode
+     * @param searchIndex     the trigram index used for word and translation searches
+     * @param lookupIndex     the index of inflected forms and synonyms
+     * @param repetitionQueue the queue of words due for repetition
+     * @param columnar        the columnar snapshot used for filters and statistics
+     * @param idSampler       the array of all IDs used to draw random words
+     * @param dispatcher      the dispatcher that keeps the in-memory indexes and the cache up to date
+     * @param snapshots       the store of the snapshot words are read from in read-only mode
+     * @param cache           the read-through cache of words and query results
+     * @param journal         the journal recording the outcome of upgrades and of level changes
+     * @param objectMapper    the mapper used to apply partial updates
      */
-    public FinnishWordService(FinnishWordRepository repository) {
-        this.repository = repository;
+    public FinnishWordService(ObjectProvider<FinnishWordRepository> repository,
+                              ObjectProvider<EntityManager> entityManager,
+                              WordSearchIndex searchIndex, WordLookupIndex lookupIndex,
+                              RepetitionQueue repetitionQueue,
+                              ColumnarSnapshot columnar, IdSampler idSampler, WordChangeDispatcher dispatcher,
+                              SnapshotStore snapshots, WordCache cache, ReviewJournal journal,
+                              ObjectMapper objectMapper) {
+        this.repository = repository.getIfAvailable();
+        this.entityManager = entityManager.getIfAvailable();
+        this.searchIndex = searchIndex;
+        this.lookupIndex = lookupIndex;
+        this.repetitionQueue = repetitionQueue;
+        this.columnar = columnar;
+        this.idSampler = idSampler;
+        this.dispatcher = dispatcher;
+        this.snapshots = snapshots;
+        this.cache = cache;
+        this.journal = journal;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -31,154 +160,749 @@ public class FinnishWordService {
      * @return a list of all {@link FinnishWord} objects
      */
     public List<FinnishWord> getAllWords() {
+        if (snapshots.isReadOnly()) {
+            try (Stream<FinnishWord> words = snapshots.current().words()) {
+                return words.toList();
+            }
+        }
         return repository.findAll();
     }
 
     /**
-     * Retrieves a Finnish word by its ID.
+     * Retrieves one keyset page of all Finnish words.
+     *
+     * @param options the cursor, order, page size and selected fields
+     * @return the page, holding full words or maps of the selected fields
+     */
+    public KeysetPage<?> getWords(ListOptions options) {
+        if (snapshots.isReadOnly()) {
+            return filterWords(NO_FILTER, options);
+        }
+        return findPage(Specification.where(null), options);
+    }
+
+    /**
+     * Passes every Finnish word to the given action, reading them through a database cursor.
+     * Each word is detached after the action has run, so memory usage does not grow with the table size.
+     *
+     * @param action the action to run for every word
+     * @return the number of words
+     */
+    @Transactional(readOnly = true)
+    public long exportWords(Consumer<FinnishWord> action) {
+        long count = 0;
+        if (snapshots.isReadOnly()) {
+            try (Stream<FinnishWord> words = snapshots.current().words()) {
+                Iterator<FinnishWord> iterator = words.iterator();
+                while (iterator.hasNext()) {
+                    action.accept(iterator.next());
+                    count++;
+                }
+            }
+            return count;
+        }
+        try (Stream<FinnishWord> words = repository.streamAll()) {
+            Iterator<FinnishWord> iterator = words.iterator();
+            while (iterator.hasNext()) {
+                FinnishWord word = iterator.next();
+                action.accept(word);
+                entityManager.detach(word);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves a Finnish word by its ID, from the cache if possible.
      *
      * @param id the ID of the word to retrieve
      * @return an {@link Optional} containing the word if found, or empty if not found
      */
     public Optional<FinnishWord> getWordById(Long id) {
-        return repository.findById(id);
+        if (snapshots.isReadOnly()) {
+            return snapshots.current().find(id);
+        }
+        return cache.getWord(id, repository::findById);
     }
 
     /**
-     * Saves a Finnish word to the database.
+     * Saves a Finnish word to the database and updates the in-memory indexes.
      *
      * @param word the {@link FinnishWord} object to save
      * @return the saved {@link FinnishWord} object
      */
     public FinnishWord saveWord(FinnishWord word) {
-        return repository.save(word);
+        requireDatabase();
+        Long id = word.getId();
+        FinnishWord saved = repository.save(word);
+        // A word without an ID, or with the ID of a missing word, is inserted under a new ID
+        if (id == null || !id.equals(saved.getId())) {
+            dispatcher.wordCreated(saved);
+        } else {
+            dispatcher.wordSaved(saved);
+        }
+        return saved;
     }
 
     /**
-     * Deletes a Finnish word by its ID.
+     * Applies the fields present in a JSON object to a word. Fields missing from the patch keep their values,
+     * fields set to {@code null} are cleared, and the update writes only the columns that actually changed.
+     * If the patch contains a {@code version}, it has to match the current version of the word;
+     * a concurrent update between reading and writing the word is detected as well.
+     * A change of the level or the repeat date is recorded in the review journal.
+     *
+     * @param id    the ID of the word to update
+     * @param patch the fields to change
+     * @return the updated word, or empty if no word has the ID
+     * @throws IllegalArgumentException                if the patch cannot be applied to a word
+     * @throws ObjectOptimisticLockingFailureException if the word has been changed since the given version
+     */
+    @Transactional
+    public Optional<FinnishWord> patchWord(Long id, ObjectNode patch) {
+        requireDatabase();
+        Optional<FinnishWord> found = repository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        FinnishWord word = found.get();
+        JsonNode version = patch.remove("version");
+        if (version != null && !version.isNull() && version.asLong() != word.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(FinnishWord.class, id);
+        }
+        patch.remove(List.of("id", "daysSinceLastRepeat"));
+        Integer previousLevel = word.getLevel();
+        LocalDate previousDateRepeated = word.getDateRepeated();
+        try {
+            objectMapper.readerForUpdating(word).readValue(patch);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage(), e);
+        }
+        if (word.getWord() == null) {
+            throw new IllegalArgumentException("The word must not be null");
+        }
+        FinnishWord saved = repository.saveAndFlush(word);
+        dispatcher.wordSaved(saved);
+        if (!Objects.equals(previousLevel, saved.getLevel())
+                || !Objects.equals(previousDateRepeated, saved.getDateRepeated())) {
+            journal.recordReview(id, previousLevel, saved.getLevel(), previousDateRepeated, saved.getDateRepeated());
+        }
+        return Optional.of(saved);
+    }
+
+    /**
+     * Deletes a Finnish word by its ID and removes it from the in-memory indexes.
      *
      * @param id the ID of the word to delete
      */
     public void deleteWord(Long id) {
+        requireDatabase();
         repository.deleteById(id);
+        dispatcher.wordDeleted(id);
+    }
+
+    /**
+     * Increments the level of the given words by one and sets their repeat date.
+     * The current levels are read and locked, and all words are then updated with one set-based statement,
+     * so that concurrent upgrades of the same word cannot lose increments. The words are locked in ID order, so
+     * concurrent upgrades of overlapping words wait for each other instead of deadlocking. Every change is recorded
+     * in the review journal once the transaction has committed.
+     *
+     * @param ids  the IDs of the words to upgrade
+     * @param date the new repeat date
+     * @return the changes applied to each existing word, in ID order
+     */
+    @Transactional
+    public List<LevelChange> upgradeWords(Collection<Long> ids, LocalDate date) {
+        requireDatabase();
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<LevelChange> changes = new ArrayList<>(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size()));
+            List<WordLevel> levels = repository.lockLevels(chunk);
+            if (levels.isEmpty()) {
+                continue;
+            }
+            repository.upgradeLevels(chunk, date);
+            for (WordLevel level : levels) {
+                int previous = level.getLevel() != null ? level.getLevel() : 0;
+                changes.add(new LevelChange(level.getId(), level.getLevel(), previous + 1, level.getDateRepeated(), date));
+            }
+        }
+
+        dispatcher.wordsUpgraded(changes);
+        journal.recordUpgrades(changes);
+        return changes;
+    }
+
+    /**
+     * Retrieves Finnish words by their IDs.
+     *
+     * @param ids the IDs of the words to retrieve
+     * @return the existing words, in the order of the given IDs
+     */
+    public List<FinnishWord> getWordsByIds(List<Long> ids) {
+        return findAllInOrder(ids);
     }
 
     /**
      * Searches for Finnish words by their word field.
+     * The search is case-insensitive and is served by the in-memory trigram index once it is loaded, which ranks
+     * prefix matches first, then matches closer to the start and shorter texts. Until then the database returns
+     * the prefix matches first and the other matches after them, each group by ID.
+     *
+     * @param word the word to search for (partial or complete)
+     * @param fold whether ä, ö and å should match a, o and a (only honoured by the index)
+     * @param limit the maximum number of results
+     * @return a list of {@link FinnishWord} objects that contain the given word, prefix matches first
+     */
+    public List<FinnishWord> searchByWord(String word, boolean fold, int limit) {
+        int cappedLimit = Math.min(limit, MAX_SEARCH_LIMIT);
+        if (searchIndex.isReady()) {
+            return findAllInOrder(searchIndex.searchWord(word, fold, cappedLimit));
+        }
+        requireDatabase();
+        return prefixFirst(FinnishWordSpecifications.wordStartsWith(word), FinnishWordSpecifications.wordContains(word),
+                cappedLimit, (spec, n) -> repository.findPage(spec, WordOrder.ID, null, n));
+    }
+
+    /**
+     * Searches for Finnish words by their word field and reads only the selected fields of the matches.
      *
      * @param word the word to search for (partial or complete)
-     * @return a list of {@link FinnishWord} objects that contain the given word
+     * @param fold whether ä, ö and å should match a, o and a (only honoured by the index)
+     * @param limit the maximum number of results
+     * @param fields the fields to read, as resolved by {@link ListOptions#selectedFields()}
+     * @return one map of selected fields per matching word, prefix matches first
      */
-    public List<FinnishWord> searchByWord(String word) {
-        return repository.findByWordContaining(word);
+    public List<Map<String, Object>> searchByWord(String word, boolean fold, int limit, List<String> fields) {
+        int cappedLimit = Math.min(limit, MAX_SEARCH_LIMIT);
+        if (searchIndex.isReady()) {
+            return findFieldsInOrder(searchIndex.searchWord(word, fold, cappedLimit), fields);
+        }
+        requireDatabase();
+        return prefixFirst(FinnishWordSpecifications.wordStartsWith(word), FinnishWordSpecifications.wordContains(word),
+                cappedLimit, (spec, n) -> repository.findPageFields(spec, fields, WordOrder.ID, null, n));
     }
 
     /**
      * Searches for Finnish words by their translation field.
+     * The search is case-insensitive and is served by the in-memory trigram index once it is loaded, which ranks
+     * prefix matches first, then matches closer to the start and shorter texts. Until then the database returns
+     * the prefix matches first and the other matches after them, each group by ID.
+     *
+     * @param translation the translation to search for (partial or complete)
+     * @param fold whether ä, ö and å should match a, o and a (only honoured by the index)
+     * @param limit the maximum number of results
+     * @return a list of {@link FinnishWord} objects that contain the given translation, prefix matches first
+     */
+    public List<FinnishWord> searchByTranslation(String translation, boolean fold, int limit) {
+        int cappedLimit = Math.min(limit, MAX_SEARCH_LIMIT);
+        if (searchIndex.isReady()) {
+            return findAllInOrder(searchIndex.searchTranslation(translation, fold, cappedLimit));
+        }
+        requireDatabase();
+        return prefixFirst(FinnishWordSpecifications.translationStartsWith(translation),
+                FinnishWordSpecifications.translationContains(translation),
+                cappedLimit, (spec, n) -> repository.findPage(spec, WordOrder.ID, null, n));
+    }
+
+    /**
+     * Searches for Finnish words by their translation field and reads only the selected fields of the matches.
      *
      * @param translation the translation to search for (partial or complete)
-     * @return a list of {@link FinnishWord} objects that contain the given translation
+     * @param fold whether ä, ö and å should match a, o and a (only honoured by the index)
+     * @param limit the maximum number of results
+     * @param fields the fields to read, as resolved by {@link ListOptions#selectedFields()}
+     * @return one map of selected fields per matching word, prefix matches first
      */
-    public List<FinnishWord> searchByTranslation(String translation) {
-        return repository.findByTranslationContaining(translation);
+    public List<Map<String, Object>> searchByTranslation(String translation, boolean fold, int limit, List<String> fields) {
+        int cappedLimit = Math.min(limit, MAX_SEARCH_LIMIT);
+        if (searchIndex.isReady()) {
+            return findFieldsInOrder(searchIndex.searchTranslation(translation, fold, cappedLimit), fields);
+        }
+        requireDatabase();
+        return prefixFirst(FinnishWordSpecifications.translationStartsWith(translation),
+                FinnishWordSpecifications.translationContains(translation),
+                cappedLimit, (spec, n) -> repository.findPageFields(spec, fields, WordOrder.ID, null, n));
+    }
+
+    /**
+     * Runs a substring search on the database with the prefix matches first: the prefix matches are read first,
+     * and the remaining matches only if the limit has not been reached.
+     */
+    private static <T> List<T> prefixFirst(Specification<FinnishWord> prefix, Specification<FinnishWord> contains,
+                                           int limit, BiFunction<Specification<FinnishWord>, Integer, List<T>> query) {
+        List<T> result = new ArrayList<>(query.apply(prefix, limit));
+        if (result.size() < limit) {
+            result.addAll(query.apply(contains.and(Specification.not(prefix)), limit - result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a word form, such as the inflected form "talossa", to its headwords.
+     * A word matches if the form is its {@code word}, one of the forms listed in its {@code wordFormation} or,
+     * optionally, one of its {@code synonyms}. The lookup is served by the in-memory form index once it is loaded.
+     *
+     * @param form     the form to look up, compared case-insensitively
+     * @param synonyms whether words listing the form as a synonym are included
+     * @param limit    the maximum number of results
+     * @return the words having the form, followed by the words having it as a synonym
+     */
+    public List<FinnishWord> lookupForm(String form, boolean synonyms, int limit) {
+        return findAllInOrder(lookupIds(form, synonyms, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
+
+    /**
+     * Resolves a word form to its headwords and reads only the selected fields of the matches.
+     *
+     * @param form     the form to look up, compared case-insensitively
+     * @param synonyms whether words listing the form as a synonym are included
+     * @param limit    the maximum number of results
+     * @param fields   the fields to read, as resolved by {@link ListOptions#selectedFields()}
+     * @return one map of selected fields per matching word, in the order of {@link #lookupForm(String, boolean, int)}
+     */
+    public List<Map<String, Object>> lookupForm(String form, boolean synonyms, int limit, List<String> fields) {
+        return findFieldsInOrder(lookupIds(form, synonyms, Math.min(limit, MAX_SEARCH_LIMIT)), fields);
+    }
+
+    /**
+     * Returns the IDs of the words having a form, from the form index or, until it is loaded, by searching the
+     * text columns in the database and discarding the words where the form is only part of a longer token.
+     * The database is read in keyset pages of {@value #LOOKUP_PAGE_SIZE} candidates holding only the form fields,
+     * and reading stops as soon as {@code limit} headwords are found.
+     */
+    private List<Long> lookupIds(String form, boolean synonyms, int limit) {
+        if (lookupIndex.isReady()) {
+            return lookupIndex.lookup(form, synonyms, limit);
+        }
+        String term = WordLookupIndex.normalize(form);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        requireDatabase();
+        Specification<FinnishWord> spec = FinnishWordSpecifications.formContains(term, synonyms);
+        List<Long> headwords = new ArrayList<>();
+        List<Long> synonymous = new ArrayList<>();
+        WordCursor after = null;
+        List<Map<String, Object>> rows;
+        do {
+            rows = repository.findPageFields(spec, LOOKUP_FIELDS, WordOrder.ID, after, LOOKUP_PAGE_SIZE);
+            for (Map<String, Object> row : rows) {
+                FinnishWord word = new FinnishWord();
+                word.setId((Long) row.get("id"));
+                word.setWord((String) row.get("word"));
+                word.setWordFormation((String) row.get("wordFormation"));
+                word.setSynonyms((String) row.get("synonyms"));
+                if (WordLookupIndex.matches(word, term, false)) {
+                    headwords.add(word.getId());
+                } else if (synonyms && WordLookupIndex.matches(word, term, true)) {
+                    synonymous.add(word.getId());
+                }
+                after = new WordCursor(null, word.getId());
+            }
+        } while (rows.size() == LOOKUP_PAGE_SIZE && headwords.size() < limit);
+        headwords.addAll(synonymous);
+        return headwords.size() > limit ? headwords.subList(0, limit) : headwords;
     }
 
     /**
      * Filters Finnish words based on various criteria such as days since last repeat, level, popularity, frequency, and categories.
+     * All criteria are evaluated by the database, and only the requested page is loaded.
+     * The IDs and total of a page are cached until the next write; the words themselves come from the word cache.
+     * When the columnar snapshot is enabled, pages sorted by ID are evaluated in memory instead.
+     *
+     * @param filter the filter criteria
+     * @param pageable the page, page size and sort order of the result; the sort may only use the
+     *                 {@link ListOptions#SUMMARY_FIELDS summary fields}
+     * @return a page of filtered {@link FinnishWord} objects
+     * @throws IllegalArgumentException if the sort uses any other property
+     */
+    public Page<FinnishWord> filterWords(WordFilter filter, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!ListOptions.SUMMARY_FIELDS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty() + ", sortable fields are "
+                        + String.join(", ", ListOptions.SUMMARY_FIELDS));
+            }
+        }
+        Sort.Direction idDirection = idDirection(pageable.getSort());
+        if (columnar.isReady() && idDirection != null) {
+            long[] ids = columnar.filter(filter, LocalDate.now());
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            List<Long> pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(idDirection.isAscending() ? ids[i] : ids[ids.length - 1 - i]);
+            }
+            return new PageImpl<>(findAllInOrder(pageIds), pageable, ids.length);
+        }
+
+        // The filter is relative to today, so the date is part of the key
+        requireDatabase();
+        FilterPage page = cache.getQuery(new FilterKey(filter, pageable, LocalDate.now()), () -> {
+            Page<FinnishWord> words = repository.findAll(FinnishWordSpecifications.matching(filter), pageable);
+            return new FilterPage(words.map(FinnishWord::getId).getContent(), words.getTotalElements());
+        });
+        return new PageImpl<>(findAllInOrder(page.ids()), pageable, page.total());
+    }
+
+    /**
+     * Filters Finnish words and returns one keyset page of them.
+     * Unlike offset paging, the cost of a page does not depend on how far into the result it is.
+     * When the columnar snapshot is enabled, pages in ID order are evaluated in memory instead.
+     *
+     * @param filter the filter criteria
+     * @param options the cursor, order, page size and selected fields
+     * @return the page, holding full words or maps of the selected fields
+     */
+    public KeysetPage<?> filterWords(WordFilter filter, ListOptions options) {
+        if (!columnar.isReady() || options.order() != WordOrder.ID) {
+            return findPage(FinnishWordSpecifications.matching(filter), options);
+        }
+
+        long[] ids = columnar.filter(filter, LocalDate.now());
+        WordCursor after = options.cursor();
+        int from = 0;
+        if (after != null) {
+            int position = Arrays.binarySearch(ids, after.id());
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        int limit = options.pageSize();
+        int to = Math.min(from + limit, ids.length);
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(ids[i]);
+        }
+        String next = to < ids.length && !pageIds.isEmpty()
+                ? new WordCursor(null, pageIds.get(pageIds.size() - 1)).format(WordOrder.ID)
+                : null;
+
+        List<String> fields = options.selectedFields();
+        return fields == null
+                ? new KeysetPage<>(findAllInOrder(pageIds), next)
+                : new KeysetPage<>(findFieldsInOrder(pageIds, fields), next);
+    }
+
+    /**
+     * Counts the words matching a filter per value of the facet fields {@code category}, {@code category2},
+     * {@code source}, {@code level} and {@code popularity}.
+     * All facets are computed at once: in one pass over the columnar snapshot if it is enabled, otherwise with a
+     * single query of one grouped select per facet field and one for the total, combined with UNION ALL, so the
+     * result has one row per facet value rather than per combination of values. Database results are
+     * cached until the next write.
+     *
+     * @param filter the filter criteria
+     * @return the facet counts
+     */
+    public WordFacets getFacets(WordFilter filter) {
+        LocalDate today = LocalDate.now();
+        if (columnar.isReady()) {
+            return columnar.facets(filter, today);
+        }
+        requireDatabase();
+        return cache.getQuery(new FacetsKey(filter, today), () -> {
+            WordFacets.Builder builder = new WordFacets.Builder();
+            for (FacetBucket bucket : repository.countFacets(FinnishWordSpecifications.matching(filter))) {
+                long count = bucket.count();
+                if (bucket.isTotal()) {
+                    builder.total(count);
+                    continue;
+                }
+                builder.category(bucket.category(), count)
+                        .category2(bucket.category2(), count)
+                        .source(bucket.source(), count)
+                        .level(bucket.level(), count)
+                        .popularity(bucket.popularity(), count);
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Draws random words matching a filter, optionally weighted.
+     * <p>
+     * Candidates are drawn uniformly from the in-memory ID array and checked against the filter in rounds, growing
+     * the draw until {@value #SAMPLE_OVERSAMPLING} matches per requested word are collected. The cost therefore
+     * depends on the sample size and the selectivity of the filter, not on the size of the dictionary.
+     * If the filter is too selective for that, or the ID array is not loaded yet, the candidates are drawn from the
+     * matches listed by the columnar snapshot, or else read from the database in {@value #SAMPLE_WINDOWS} windows
+     * starting at random IDs, which reads at most twice as many rows as candidates are wanted (see
+     * {@link #sampleIdWindows}). Candidates are read with only the ID and the weighted fields, at most
+     * {@value #ID_CHUNK_SIZE} IDs per query. The words are then picked from the candidates by weighted random
+     * sampling (Efraimidis-Spirakis), and only the picked words are loaded in full.
+     * </p>
+     * <p>
+     * The weights only apply among the candidates. If all matching words are candidates, the sample follows the
+     * weights exactly. Otherwise a word can be at most {@value #SAMPLE_OVERSAMPLING} times as likely to be picked
+     * as in an unweighted sample, however large its weight, so the weights make heavier words preferred rather than
+     * setting exact odds.
+     * </p>
      *
-     * @param daysSinceLastRepeat the number of days since the word was last repeated
-     * @param level the level of the word
-     * @param popularity the popularity of the word
-     * @param frequency the frequency of the word
-     * @param source the source of the word
-     * @param category1 the primary category of the word
-     * @param category2 the secondary category of the word
-     * @param repeatAgain the repeatAgain flag for the word
-     * @return a list of filtered {@link FinnishWord} objects
+     * @param filter the filter criteria
+     * @param size   the number of words to draw, at most {@link #MAX_SAMPLE_SIZE}
+     * @param weight the weighting of the words
+     * @param seed   the seed of the random draw, or {@code null} for a different sample on every call;
+     *               the same seed returns the same sample as long as the dictionary does not change
+     * @return the drawn words, in random order
+     */
+    public List<FinnishWord> sampleWords(WordFilter filter, int size, SampleWeight weight, Long seed) {
+        int count = Math.min(size, MAX_SAMPLE_SIZE);
+        if (count <= 0) {
+            return List.of();
+        }
+        SplittableRandom random = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        Specification<FinnishWord> spec = FinnishWordSpecifications.matching(filter);
+        int wanted = count * SAMPLE_OVERSAMPLING;
+
+        List<FinnishWord> candidates = new ArrayList<>();
+        boolean exhausted = false;
+        if (idSampler.isReady() && repository != null) {
+            Set<Long> drawn = new HashSet<>();
+            int draw = wanted;
+            for (int round = 0; round < SAMPLE_ROUNDS && candidates.size() < wanted && !exhausted; round++) {
+                List<Long> ids = idSampler.sample(draw, random, drawn);
+                drawn.addAll(ids);
+                exhausted = ids.size() < draw;
+                for (int from = 0; from < ids.size() && candidates.size() < wanted; from += ID_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+                    candidates.addAll(sampleCandidates(spec.and(FinnishWordSpecifications.idIn(chunk)), chunk.size()));
+                }
+                draw *= 4;
+            }
+        }
+        if (candidates.size() < count && !exhausted) {
+            // Too few words match for random draws to find them: draw from the matching IDs
+            List<Long> ids = new ArrayList<>();
+            if (columnar.isReady()) {
+                for (long id : columnar.filter(filter, LocalDate.now())) {
+                    ids.add(id);
+                }
+            } else {
+                requireDatabase();
+                ids.addAll(sampleIdWindows(spec, count, wanted, random));
+            }
+            int take = Math.min(wanted, ids.size());
+            for (int i = 0; i < take; i++) {
+                Collections.swap(ids, i, i + random.nextInt(ids.size() - i));
+            }
+            candidates = new ArrayList<>(take);
+            for (int from = 0; from < take; from += ID_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, take));
+                if (repository == null) {
+                    candidates.addAll(findAllInOrder(chunk));
+                } else {
+                    candidates.addAll(sampleCandidates(FinnishWordSpecifications.idIn(chunk), chunk.size()));
+                }
+            }
+        }
+
+        // Weighted sampling without replacement: keep the words with the largest log(u) / weight
+        candidates.sort(Comparator.comparing(FinnishWord::getId));
+        LocalDate today = LocalDate.now();
+        double[] keys = new double[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = Math.log(1 - random.nextDouble()) / weight.weight(candidates.get(i), today);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(keys[b], keys[a]));
+        List<Long> picked = new ArrayList<>(Math.min(count, order.length));
+        for (int i = 0; i < Math.min(count, order.length); i++) {
+            picked.add(candidates.get(order[i]).getId());
+        }
+        return findAllInOrder(picked);
+    }
+
+    /**
+     * Reads up to {@code wanted} IDs of matching words from windows in ID order that start at random IDs and wrap
+     * around at the end of the table. If that finds fewer than {@code count} distinct IDs, the matches from the
+     * start of the table are read as well, so all matches are found when there are at most {@code wanted}.
+     * The selection is random but not uniform: words following a gap in the IDs are more likely, and words close
+     * in ID order tend to be drawn together.
      */
-    public List<FinnishWord> filterWords(
-            Long daysSinceLastRepeat, Integer level, Integer popularity,
-            Integer frequency, String source, String category1, String category2, Integer repeatAgain) {
+    private List<Long> sampleIdWindows(Specification<FinnishWord> spec, int count, int wanted,
+                                       SplittableRandom random) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Long maxId = repository.findMaxId();
+        if (maxId == null) {
+            return List.of();
+        }
+        int windows = Math.min(SAMPLE_WINDOWS, wanted);
+        for (int window = 0; window < windows; window++) {
+            int limit = wanted / windows + (window < wanted % windows ? 1 : 0);
+            List<Long> found = readIds(spec, new WordCursor(null, random.nextLong(maxId + 1)), limit);
+            if (found.size() < limit) {
+                found.addAll(readIds(spec, null, limit - found.size()));
+            }
+            ids.addAll(found);
+        }
+        if (ids.size() < count) {
+            ids.addAll(readIds(spec, null, wanted));
+        }
+        return new ArrayList<>(ids);
+    }
 
-        List<FinnishWord> allWords = repository.findAll();
+    private List<Long> readIds(Specification<FinnishWord> spec, WordCursor after, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Map<String, Object> row : repository.findPageFields(spec, List.of("id"), WordOrder.ID, after, limit)) {
+            ids.add((Long) row.get("id"));
+        }
+        return ids;
+    }
 
-        return allWords.stream()
-                .filter(word -> daysSinceLastRepeat == null || (word.getDaysSinceLastRepeat() != null && word.getDaysSinceLastRepeat().equals(daysSinceLastRepeat)))
-                .filter(word -> level == null || (word.getLevel() != null && word.getLevel().equals(level)))
-                .filter(word -> popularity == null || (word.getPopularity() != null && word.getPopularity().equals(popularity)))
-                .filter(word -> frequency == null || (word.getFrequency() != null && word.getFrequency() <= frequency))
-                .filter(word -> source.isEmpty() || (!word.getSource().isEmpty() && word.getSource().equalsIgnoreCase(source)))
-                .filter(word -> category1.isEmpty() || (!word.getCategory().isEmpty() && word.getCategory().equalsIgnoreCase(category1)))
-                .filter(word -> category2.isEmpty() || (!word.getCategory2().isEmpty() && word.getCategory2().equalsIgnoreCase(category2)))
-                .filter(word -> repeatAgain == null || (word.getRepeatAgain() != null && word.getRepeatAgain().equals(repeatAgain)))
-                .collect(Collectors.toList());
+    /**
+     * Reads the ID and the weighted fields of the words matching a specification, as partially filled words.
+     */
+    private List<FinnishWord> sampleCandidates(Specification<FinnishWord> spec, int limit) {
+        List<FinnishWord> words = new ArrayList<>();
+        for (Map<String, Object> row : repository.findPageFields(spec, SAMPLE_FIELDS, WordOrder.ID, null, limit)) {
+            FinnishWord word = new FinnishWord();
+            word.setId((Long) row.get("id"));
+            word.setLevel((Integer) row.get("level"));
+            word.setRepeatAgain((Integer) row.get("repeatAgain"));
+            word.setDateRepeated((LocalDate) row.get("dateRepeated"));
+            words.add(word);
+        }
+        return words;
     }
 
     /**
      * Retrieves words at a given level and sorts them by the oldest repeat date.
+     * The words are looked up in the in-memory repetition queue once it is loaded.
      *
      * @param level the level of the words to retrieve
      * @return a list of {@link FinnishWord} objects at the specified level with the oldest repeat dates
      */
     public List<FinnishWord> getWordsByLevelWithOldestRepeat(int level) {
-        List<FinnishWord> words = repository.findByLevel(level);
+        if (repetitionQueue.isReady()) {
+            return findAllInOrder(repetitionQueue.oldest(level, null, Integer.MAX_VALUE));
+        }
+        requireDatabase();
+        return repository.findAll(FinnishWordSpecifications.oldestRepeatAtLevel(level), Sort.by("id"));
+    }
+
+    /**
+     * Retrieves one keyset page of the words due for repetition at a given level.
+     * Once the in-memory repetition queue is loaded, a page costs one seek plus the returned words,
+     * independent of the number of words at the level.
+     *
+     * @param level the level of the words to retrieve
+     * @param policy the policy deciding which words are due
+     * @param options the cursor, order, page size and selected fields; the {@link RepeatPolicy#INTERVAL}
+     *                policy always uses the repeat date order
+     * @return the page, holding full words or maps of the selected fields
+     */
+    public KeysetPage<?> getWordsForRepetition(int level, RepeatPolicy policy, ListOptions options) {
+        ListOptions effective = policy == RepeatPolicy.INTERVAL
+                ? new ListOptions(options.after(), "dateRepeated", options.limit(), options.fields())
+                : options;
 
-        long maxDaysSinceLastRepeat = words.stream()
-                .filter(word -> word.getDaysSinceLastRepeat() != null)
-                .mapToLong(FinnishWord::getDaysSinceLastRepeat)
-                .max()
-                .orElse(0);
+        if (!repetitionQueue.isReady()) {
+            Specification<FinnishWord> spec = policy == RepeatPolicy.INTERVAL
+                    ? FinnishWordSpecifications.repeatedOnOrBefore(level,
+                            LocalDate.now().minusDays(repetitionQueue.intervalDays(level)))
+                    : FinnishWordSpecifications.oldestRepeatAtLevel(level);
+            return findPage(spec, effective);
+        }
+
+        WordCursor after = effective.cursor();
+        int limit = effective.pageSize();
+        List<Long> ids = policy == RepeatPolicy.INTERVAL
+                ? repetitionQueue.due(level, LocalDate.now(), after, limit + 1)
+                : repetitionQueue.oldest(level, after, limit + 1);
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+
+        List<String> fields = effective.selectedFields();
+        if (fields == null) {
+            List<FinnishWord> words = findAllInOrder(ids);
+            String next = hasNext && !words.isEmpty()
+                    ? WordCursor.after(words.get(words.size() - 1)).format(effective.order())
+                    : null;
+            return new KeysetPage<>(words, next);
+        }
+        List<String> withDate = fields.contains("dateRepeated") ? fields : append(fields, "dateRepeated");
+        List<Map<String, Object>> rows = findFieldsInOrder(ids, withDate);
+        String next = hasNext && !rows.isEmpty() ? cursorAfter(rows.get(rows.size() - 1)).format(effective.order()) : null;
+        if (withDate != fields) {
+            rows.forEach(row -> row.remove("dateRepeated"));
+        }
+        return new KeysetPage<>(rows, next);
+    }
 
-        return words.stream()
-                .filter(word -> word.getDaysSinceLastRepeat() != null && word.getDaysSinceLastRepeat() == maxDaysSinceLastRepeat)
-                .sorted(Comparator.comparing(FinnishWord::getDateRepeated))
-                .toList();
+    /**
+     * Summarizes the dictionary table in one aggregate query, to find out whether it has changed since a snapshot.
+     *
+     * @return the current {@link TableFingerprint} of the table
+     */
+    public TableFingerprint getFingerprint() {
+        requireDatabase();
+        return repository.fingerprint();
     }
 
     /**
      * Gathers statistical information about the words in the database, including total word count and distribution by level and days since last repeat.
+     * All figures are derived from a single aggregate query that returns only counts per (level, repeat date) bucket,
+     * and are cached until the next write or the next day.
      *
      * @return a map of statistical data, including total words, studied words, and distribution of words by level and repeat date
      */
     public Map<String, Object> getWordsStatistics() {
+        return cache.getQuery(new StatisticsKey(LocalDate.now()), this::computeWordsStatistics);
+    }
+
+    private Map<String, Object> computeWordsStatistics() {
         // Create a map to store statistics
         Map<String, Object> statistics = new HashMap<>();
 
-        // Get the total number of words in the repository (i.e., in the database)
-        long totalWords = repository.count();
-        // Add the total word count to the statistics map
-        statistics.put("totalWords", totalWords);
-
-        // Get the count of words that have a level greater than or equal to 1 (i.e., words that have been studied)
-        long studiedWords = repository.findAll().stream()
-                .filter(word -> word.getLevel() >= 1) // Only count words with a level of 1 or higher
-                .count();
-        // Add the count of studied words to the statistics map
-        statistics.put("studiedWords", studiedWords);
+        // Load the word counts grouped by level and repeat date, from the columnar snapshot or in a single aggregate query
+        List<LevelRepeatCount> buckets;
+        if (columnar.isReady()) {
+            buckets = columnar.countByLevelAndDateRepeated();
+        } else {
+            requireDatabase();
+            buckets = repository.countByLevelAndDateRepeated();
+        }
+        LocalDate today = LocalDate.now();
 
+        long totalWords = 0;
+        long studiedWords = 0;
+        int maxLevel = 0;
         // Analogue of pivot table in Excel where vertical axis is days since last repeat and horizontal axis is level, and in each cell we have count of words
-        // Create a map to store the distribution of words across levels and days since last repeat
         Map<Integer, Map<Long, Long>> distribution = new HashMap<>();
         // Create a set to store all unique days since last repeat (across all levels)
         Set<Long> allDays = new HashSet<>();
 
-        // Loop through each level (from 1 to 12)
-        for (int level = 1; level <= 12; level++) {
-            // For each level, get the list of words at that level and calculate the distribution of days since last repeat
-            Map<Long, Long> daysDistribution = repository.findByLevel(level).stream()
-                    // Filter out words that do not have a valid "daysSinceLastRepeat" value
-                    .filter(word -> word.getDaysSinceLastRepeat() != null)
-                    // Group the words by their "daysSinceLastRepeat" value and count how many words correspond to that key
-                    .collect(Collectors.groupingBy(
-                            FinnishWord::getDaysSinceLastRepeat,  // Grouping by days since last repeat
-                            Collectors.counting()                 // Counting the number of words for days-key
-                    ));
-            // Add the calculated distribution for the current level to the distribution map
-            distribution.put(level, daysDistribution);
-            // Add all unique days from this level to the set of all days
-            allDays.addAll(daysDistribution.keySet());
+        for (LevelRepeatCount bucket : buckets) {
+            totalWords += bucket.getCount();
+
+            // Words with a level of 1 or higher have been studied and take part in the distribution
+            Integer level = bucket.getLevel();
+            if (level == null || level < 1) {
+                continue;
+            }
+            studiedWords += bucket.getCount();
+            maxLevel = Math.max(maxLevel, level);
+
+            if (bucket.getDateRepeated() != null) {
+                long days = ChronoUnit.DAYS.between(bucket.getDateRepeated(), today);
+                distribution.computeIfAbsent(level, l -> new HashMap<>())
+                        .merge(days, bucket.getCount(), Long::sum);
+                allDays.add(days);
+            }
         }
 
+        // Every level from 1 up to the highest level in use is present, even if it has no repeated words
+        for (int level = 1; level <= maxLevel; level++) {
+            distribution.putIfAbsent(level, new HashMap<>());
+        }
+
+        statistics.put("totalWords", totalWords);
+        statistics.put("studiedWords", studiedWords);
         // Add the distribution map (words grouped by level and days since last repeat) to the statistics map
         statistics.put("distribution", distribution);
         // Add the set of all unique days since last repeat to the statistics map
@@ -187,4 +911,133 @@ public class FinnishWordService {
         // Return the complete statistics map
         return statistics;
     }
+
+    /**
+     * Loads words by their IDs, from the cache where possible, and returns them in the order of the given list.
+     *
+     * @param ids the IDs of the words to load
+     * @return the words that exist, in the order of their IDs
+     */
+    private List<FinnishWord> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (snapshots.isReadOnly()) {
+            return snapshots.current().findAll(ids);
+        }
+        return cache.getWords(ids, repository::findAllByIdInOrder);
+    }
+
+    /**
+     * Loads selected fields of words by their IDs and returns them in the order of the given list.
+     *
+     * @param ids the IDs of the words to load
+     * @param fields the fields to read, including {@code id}
+     * @return one map of selected fields per existing word, in the order of the IDs
+     */
+    private List<Map<String, Object>> findFieldsInOrder(List<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (snapshots.isReadOnly()) {
+            MappedSnapshot snapshot = snapshots.current();
+            List<Map<String, Object>> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int row = snapshot.indexOf(id);
+                if (row >= 0) {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (String field : fields) {
+                        values.put(field, snapshot.value(row, field));
+                    }
+                    result.add(values);
+                }
+            }
+            return result;
+        }
+        Map<Object, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> values : repository.findPageFields(
+                FinnishWordSpecifications.idIn(ids), fields, WordOrder.ID, null, ids.size())) {
+            byId.put(values.get("id"), values);
+        }
+        List<Map<String, Object>> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Map<String, Object> values = byId.get(id);
+            if (values != null) {
+                result.add(values);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the keyset page described by the options. One extra row is read to find out
+     * whether a next page exists.
+     */
+    private KeysetPage<?> findPage(Specification<FinnishWord> spec, ListOptions options) {
+        requireDatabase();
+        WordOrder order = options.order();
+        WordCursor after = options.cursor();
+        int limit = options.pageSize();
+        List<String> fields = options.selectedFields();
+
+        if (fields == null) {
+            List<FinnishWord> words = repository.findPage(spec, order, after, limit + 1);
+            if (words.size() <= limit) {
+                return new KeysetPage<>(words, null);
+            }
+            List<FinnishWord> page = words.subList(0, limit);
+            return new KeysetPage<>(page, WordCursor.after(page.get(limit - 1)).format(order));
+        }
+
+        List<Map<String, Object>> rows = repository.findPageFields(spec, fields, order, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Map<String, Object>> page = rows.subList(0, limit);
+        return new KeysetPage<>(page, cursorAfter(page.get(limit - 1)).format(order));
+    }
+
+    /**
+     * Fails if the application runs without a database and the request cannot be answered from memory.
+     */
+    private void requireDatabase() {
+        if (repository == null) {
+            throw new ReadOnlyModeException("This request needs the database, which is not available in read-only mode");
+        }
+    }
+
+    /**
+     * Returns the direction of a sort that orders by ID only, ascending for an unsorted request.
+     *
+     * @return the direction, or {@code null} if the sort involves other properties
+     */
+    private static Sort.Direction idDirection(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Direction.ASC;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && orders.get(0).getProperty().equals("id") ? orders.get(0).getDirection() : null;
+    }
+
+    private static WordCursor cursorAfter(Map<String, Object> row) {
+        return new WordCursor((LocalDate) row.get("dateRepeated"), (Long) row.get("id"));
+    }
+
+    private static List<String> append(List<String> fields, String field) {
+        List<String> result = new ArrayList<>(fields);
+        result.add(field);
+        return result;
+    }
+
+    private record FilterKey(WordFilter filter, Pageable pageable, LocalDate today) {
+    }
+
+    private record FilterPage(List<Long> ids, long total) {
+    }
+
+    private record FacetsKey(WordFilter filter, LocalDate today) {
+    }
+
+    private record StatisticsKey(LocalDate today) {
+    }
 }
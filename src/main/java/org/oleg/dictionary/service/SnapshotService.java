@@ -0,0 +1,95 @@
+package org.oleg.dictionary.service;
+
+import org.oleg.dictionary.snapshot.MappedSnapshot;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.oleg.dictionary.snapshot.SnapshotStore;
+import org.oleg.dictionary.snapshot.SnapshotWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Service for writing binary snapshots of the dictionary, on demand or on the schedule given by
+ * {@code dictionary.snapshot.cron}.
+ * <p>
+ * The words are read through the export cursor into a {@link SnapshotWriter}, written to a temporary file next to
+ * the snapshot and moved over it atomically, so a reader never maps a partially written file. Scheduled runs skip
+ * the write if the fingerprint of the table still matches the current snapshot.
+ * </p>
+ */
+@Service
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final FinnishWordService wordService;
+    private final SnapshotStore store;
+
+    /**
+     * Constructor that injects the word service and the snapshot store.
+     *
+     * @param wordService the service used to read all words
+     * @param store       the store to publish new snapshots to
+     */
+    public SnapshotService(FinnishWordService wordService, SnapshotStore store) {
+        this.wordService = wordService;
+        this.store = store;
+    }
+
+    /**
+     * Writes a snapshot of the current dictionary and maps it.
+     *
+     * @return the new snapshot
+     * @throws IOException           if the snapshot cannot be written
+     * @throws IllegalStateException if no snapshot path is configured
+     * @throws ReadOnlyModeException if the application runs without a database
+     */
+    public synchronized MappedSnapshot writeSnapshot() throws IOException {
+        if (store.isReadOnly()) {
+            throw new ReadOnlyModeException("Snapshots cannot be written in read-only mode");
+        }
+        if (!store.isEnabled()) {
+            throw new IllegalStateException("Snapshots are disabled, dictionary.snapshot.path is not set");
+        }
+        long start = System.currentTimeMillis();
+        Path target = store.path().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            SnapshotWriter writer = new SnapshotWriter();
+            wordService.exportWords(writer::add);
+            writer.write(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        MappedSnapshot snapshot = store.reload();
+        log.info("Wrote dictionary snapshot of {} words in {} ms", snapshot.size(), System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    /**
+     * Writes a new snapshot if the dictionary has changed since the current one was written.
+     */
+    @Scheduled(cron = "${dictionary.snapshot.cron:-}")
+    public void refreshSnapshot() {
+        if (store.isReadOnly() || !store.isEnabled()) {
+            return;
+        }
+        try {
+            MappedSnapshot current = store.current();
+            if (current != null && current.fingerprint().equals(wordService.getFingerprint())) {
+                log.debug("Dictionary unchanged since the snapshot of {}", current.createdAt());
+                return;
+            }
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Scheduled dictionary snapshot failed", e);
+        }
+    }
+}
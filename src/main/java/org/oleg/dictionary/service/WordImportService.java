@@ -0,0 +1,357 @@
+package org.oleg.dictionary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.oleg.dictionary.index.WordChangeDispatcher;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.ImportReport;
+import org.oleg.dictionary.snapshot.ReadOnlyModeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for importing large amounts of words from CSV or newline-delimited JSON.
+ * <p>
+ * The input is read row by row, every row is validated, and valid rows are written with JDBC batch inserts,
+ * one transaction per batch. Only the current batch and a bounded number of error reports are kept in memory,
+ * so the heap usage does not depend on the size of the input.
+ * </p>
+ */
+@Service
+public class WordImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(WordImportService.class);
+
+    private static final String INSERT_SQL = "insert into finnish_dictionary (date_added, date_repeated, level, word, "
+            + "translation, category, category2, source, popularity, repeat_again, comment, example, synonyms, "
+            + "word_formation, frequency) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> COLUMN_FIELDS = List.of("id", "dateAdded", "dateRepeated", "level", "word",
+            "translation", "category", "category2", "source", "popularity", "repeatAgain", "comment", "example",
+            "synonyms", "wordFormation", "frequency");
+
+    private static final int MAX_VARCHAR_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WordChangeDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    /**
+     * Constructor that injects the JDBC infrastructure and the import settings.
+     *
+     * @param jdbcTemplate        the template used for batch inserts, unavailable in read-only mode
+     * @param transactionTemplate the template used to run every batch in its own transaction,
+     *                            unavailable in read-only mode
+     * @param dispatcher          the dispatcher that keeps the in-memory indexes up to date
+     * @param objectMapper        the mapper used to parse NDJSON rows
+     * @param batchSize           the number of rows written per batch
+     * @param maxErrors           the maximum number of row errors included in the report
+     */
+    public WordImportService(ObjectProvider<JdbcTemplate> jdbcTemplate,
+                             ObjectProvider<TransactionTemplate> transactionTemplate,
+                             WordChangeDispatcher dispatcher, ObjectMapper objectMapper,
+                             @Value("${dictionary.import.batch-size:1000}") int batchSize,
+                             @Value("${dictionary.import.max-errors:1000}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate.getIfAvailable();
+        this.transactionTemplate = transactionTemplate.getIfAvailable();
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports words from CSV. The first record is a header naming the word fields of each column,
+     * either in camel case ({@code repeatAgain}) or in snake case ({@code repeat_again}). Blank records are ignored.
+     *
+     * @param input the CSV input, encoded in UTF-8
+     * @return the import report
+     * @throws IOException if the input cannot be read
+     * @throws IllegalArgumentException if the header is missing or names an unknown field
+     */
+    public ImportReport importCsv(InputStream input) throws IOException {
+        requireDatabase();
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV input has no header");
+        }
+        List<String> fields = header.stream().map(WordImportService::fieldName).toList();
+
+        Batch batch = new Batch();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            batch.row++;
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (record.size() != fields.size()) {
+                batch.reject("Expected " + fields.size() + " columns but found " + record.size());
+                continue;
+            }
+            try {
+                FinnishWord word = new FinnishWord();
+                for (int i = 0; i < fields.size(); i++) {
+                    setField(word, fields.get(i), record.get(i));
+                }
+                batch.add(word);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                batch.reject(e.getMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Imports words from newline-delimited JSON, one word object per line. Blank lines are ignored.
+     *
+     * @param input the NDJSON input, encoded in UTF-8
+     * @return the import report
+     * @throws IOException if the input cannot be read
+     */
+    public ImportReport importNdjson(InputStream input) throws IOException {
+        requireDatabase();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Batch batch = new Batch();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // Blank lines are skipped but counted, so that errors report the line number
+            batch.row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                FinnishWord word = objectMapper.readValue(line, FinnishWord.class);
+                word.setId(null);
+                batch.add(word);
+            } catch (JsonProcessingException e) {
+                batch.reject(e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                batch.reject(e.getMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    private void requireDatabase() {
+        if (jdbcTemplate == null || transactionTemplate == null) {
+            throw new ReadOnlyModeException("Words cannot be imported in read-only mode");
+        }
+    }
+
+    /**
+     * Checks that a word can be stored.
+     *
+     * @param word the word to check
+     * @throws IllegalArgumentException if a field is missing or out of range
+     */
+    private static void validate(FinnishWord word) {
+        if (word.getWord() == null || word.getWord().isBlank()) {
+            throw new IllegalArgumentException("word is required");
+        }
+        checkLength("word", word.getWord());
+        checkLength("category", word.getCategory());
+        checkLength("category2", word.getCategory2());
+        checkLength("source", word.getSource());
+        checkNotNegative("level", word.getLevel());
+        checkNotNegative("popularity", word.getPopularity());
+        checkNotNegative("repeatAgain", word.getRepeatAgain());
+        checkNotNegative("frequency", word.getFrequency());
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_VARCHAR_LENGTH) {
+            throw new IllegalArgumentException(field + " is longer than " + MAX_VARCHAR_LENGTH + " characters");
+        }
+    }
+
+    private static void checkNotNegative(String field, Integer value) {
+        if (value != null && value < 0) {
+            throw new IllegalArgumentException(field + " must not be negative");
+        }
+    }
+
+    private static String fieldName(String column) {
+        String name = column.trim();
+        StringBuilder camelCase = new StringBuilder(name.length());
+        boolean upper = false;
+        for (char c : name.toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                camelCase.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        String field = camelCase.toString();
+        if (!COLUMN_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unknown CSV column: " + column);
+        }
+        return field;
+    }
+
+    private static void setField(FinnishWord word, String field, String value) {
+        String text = value.isEmpty() ? null : value;
+        switch (field) {
+            case "dateAdded" -> word.setDateAdded(text == null ? null : LocalDate.parse(text));
+            case "dateRepeated" -> word.setDateRepeated(text == null ? null : LocalDate.parse(text));
+            case "level" -> word.setLevel(parseInteger(field, text));
+            case "word" -> word.setWord(text);
+            case "translation" -> word.setTranslation(text);
+            case "category" -> word.setCategory(text);
+            case "category2" -> word.setCategory2(text);
+            case "source" -> word.setSource(text);
+            case "popularity" -> word.setPopularity(parseInteger(field, text));
+            case "repeatAgain" -> word.setRepeatAgain(parseInteger(field, text));
+            case "comment" -> word.setComment(text);
+            case "example" -> word.setExample(text);
+            case "synonyms" -> word.setSynonyms(text);
+            case "wordFormation" -> word.setWordFormation(text);
+            case "frequency" -> word.setFrequency(parseInteger(field, text));
+            default -> {
+                // IDs are always assigned by the database
+            }
+        }
+    }
+
+    private static Integer parseInteger(String field, String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a number: " + text);
+        }
+    }
+
+    /**
+     * Writes a batch of words in one transaction and assigns the generated IDs to them.
+     *
+     * @param words the words to insert
+     */
+    private void insert(List<FinnishWord> words) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, words.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return words.size();
+                    }
+                },
+                keys));
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < words.size() && i < generated.size(); i++) {
+            words.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            // New rows start at the default version of the column
+            words.get(i).setVersion(0L);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, FinnishWord word) throws SQLException {
+        ps.setObject(1, word.getDateAdded() == null ? null : Date.valueOf(word.getDateAdded()), Types.DATE);
+        ps.setObject(2, word.getDateRepeated() == null ? null : Date.valueOf(word.getDateRepeated()), Types.DATE);
+        ps.setObject(3, word.getLevel(), Types.INTEGER);
+        ps.setString(4, word.getWord());
+        ps.setString(5, word.getTranslation());
+        ps.setString(6, word.getCategory());
+        ps.setString(7, word.getCategory2());
+        ps.setString(8, word.getSource());
+        ps.setObject(9, word.getPopularity(), Types.INTEGER);
+        ps.setObject(10, word.getRepeatAgain(), Types.INTEGER);
+        ps.setString(11, word.getComment());
+        ps.setString(12, word.getExample());
+        ps.setString(13, word.getSynonyms());
+        ps.setString(14, word.getWordFormation());
+        ps.setObject(15, word.getFrequency(), Types.INTEGER);
+    }
+
+    /**
+     * Accumulates valid rows and row errors of one import.
+     */
+    private final class Batch {
+
+        private final List<FinnishWord> words = new ArrayList<>(batchSize);
+        private final List<Long> rows = new ArrayList<>(batchSize);
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long row;
+        private long imported;
+        private long failed;
+
+        void add(FinnishWord word) {
+            validate(word);
+            words.add(word);
+            rows.add(row);
+            if (words.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String message) {
+            reject(row, message);
+        }
+
+        private void reject(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReport.RowError(row, message));
+            }
+        }
+
+        private void flush() {
+            if (words.isEmpty()) {
+                return;
+            }
+            try {
+                insert(words);
+                imported += words.size();
+                dispatcher.wordsCreated(List.copyOf(words));
+            } catch (DataAccessException e) {
+                log.warn("Import batch of {} rows failed", words.size(), e);
+                String message = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+                rows.forEach(failedRow -> reject(failedRow, message));
+            }
+            words.clear();
+            rows.clear();
+        }
+
+        ImportReport finish() {
+            flush();
+            return new ImportReport(imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
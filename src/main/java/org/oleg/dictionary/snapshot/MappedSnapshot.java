@@ -0,0 +1,300 @@
+package org.oleg.dictionary.snapshot;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.repository.TableFingerprint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of a binary dictionary snapshot written by {@link SnapshotWriter}, mapped into memory.
+ * <p>
+ * The file consists of a fixed-size header followed by column sections, one value per word in ascending ID order:
+ * the IDs and versions as 8-byte values, the dates (as epoch days) and integer fields as 4-byte values, and the
+ * text fields as 4-byte references into a pool of distinct strings. The pool is stored as an offset index followed
+ * by the UTF-8 bytes of all strings. All values are big-endian; missing values are stored as {@link #NULL_INT}
+ * and missing strings as {@link #NULL_STRING}.
+ * </p>
+ * <p>
+ * Nothing is read when the snapshot is opened. Lookups by ID binary-search the mapped ID column, numeric fields
+ * are read in place, and strings are decoded from the mapping only for the fields that are returned, so the heap
+ * usage does not grow with the size of the snapshot. Instances are safe for concurrent use.
+ * </p>
+ */
+public final class MappedSnapshot {
+
+    static final int MAGIC = 0x46575344; // "FWSD"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final int NULL_STRING = -1;
+
+    static final int DATE_ADDED = 0;
+    static final int DATE_REPEATED = 1;
+    static final int LEVEL = 2;
+    static final int POPULARITY = 3;
+    static final int REPEAT_AGAIN = 4;
+    static final int FREQUENCY = 5;
+    static final int INT_COLUMNS = 6;
+
+    static final int WORD = 0;
+    static final int TRANSLATION = 1;
+    static final int CATEGORY = 2;
+    static final int CATEGORY2 = 3;
+    static final int SOURCE = 4;
+    static final int COMMENT = 5;
+    static final int EXAMPLE = 6;
+    static final int SYNONYMS = 7;
+    static final int WORD_FORMATION = 8;
+    static final int STRING_COLUMNS = 9;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int stringCount;
+    private final Instant createdAt;
+    private final TableFingerprint fingerprint;
+
+    private final int versionsOffset;
+    private final int intColumnsOffset;
+    private final int stringColumnsOffset;
+    private final int stringOffsetsOffset;
+    private final int stringBytesOffset;
+
+    private MappedSnapshot(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a dictionary snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(path + " has the unsupported snapshot format " + buffer.getInt(4));
+        }
+        this.count = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(16));
+        this.fingerprint = new TableFingerprint(buffer.getLong(24), buffer.getLong(32), buffer.getLong(40));
+        long stringBytes = buffer.getLong(48);
+
+        long[] offsets = sectionOffsets(count, stringCount);
+        if (count < 0 || stringCount < 0 || offsets[4] + stringBytes != buffer.capacity()) {
+            throw new IOException(path + " is truncated or corrupt");
+        }
+        this.versionsOffset = (int) offsets[0];
+        this.intColumnsOffset = (int) offsets[1];
+        this.stringColumnsOffset = (int) offsets[2];
+        this.stringOffsetsOffset = (int) offsets[3];
+        this.stringBytesOffset = (int) offsets[4];
+    }
+
+    /**
+     * Maps a snapshot file into memory. The mapping stays valid after the file has been replaced or deleted.
+     *
+     * @param path the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static MappedSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is larger than 2 GB");
+            }
+            return new MappedSnapshot(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Returns the start of every section after the ID column: versions, integer columns, string references,
+     * string offsets and string bytes.
+     */
+    static long[] sectionOffsets(long count, long stringCount) {
+        long versions = HEADER_SIZE + 8 * count;
+        long ints = versions + 8 * count;
+        long strings = ints + 4 * count * INT_COLUMNS;
+        long stringOffsets = strings + 4 * count * STRING_COLUMNS;
+        long stringBytes = stringOffsets + 4 * (stringCount + 1);
+        return new long[]{versions, ints, strings, stringOffsets, stringBytes};
+    }
+
+    /**
+     * @return the file the snapshot was mapped from
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return the number of words in the snapshot
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the time the snapshot was written
+     */
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return the fingerprint of the table at the time the snapshot was written, computed from the written words
+     */
+    public TableFingerprint fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @param row the position of the word in the snapshot
+     * @return the ID of the word
+     */
+    public long id(int row) {
+        return buffer.getLong(HEADER_SIZE + 8 * row);
+    }
+
+    /**
+     * Finds the position of a word by binary search over the mapped ID column.
+     *
+     * @param id the ID of the word
+     * @return the position of the word, or a negative value if the snapshot does not contain it
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = id(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param id the ID of the word
+     * @return the word, or empty if the snapshot does not contain it
+     */
+    public Optional<FinnishWord> find(long id) {
+        int row = indexOf(id);
+        return row >= 0 ? Optional.of(word(row)) : Optional.empty();
+    }
+
+    /**
+     * @param ids the IDs of the words
+     * @return the words the snapshot contains, in the order of the IDs
+     */
+    public List<FinnishWord> findAll(List<Long> ids) {
+        List<FinnishWord> words = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            int row = id != null ? indexOf(id) : -1;
+            if (row >= 0) {
+                words.add(word(row));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Decodes the word at a position into a new, detached entity.
+     *
+     * @param row the position of the word in the snapshot
+     * @return the word
+     */
+    public FinnishWord word(int row) {
+        FinnishWord word = new FinnishWord();
+        word.setId(id(row));
+        word.setVersion(buffer.getLong(versionsOffset + 8 * row));
+        word.setDateAdded(date(DATE_ADDED, row));
+        word.setDateRepeated(date(DATE_REPEATED, row));
+        word.setLevel(integer(LEVEL, row));
+        word.setPopularity(integer(POPULARITY, row));
+        word.setRepeatAgain(integer(REPEAT_AGAIN, row));
+        word.setFrequency(integer(FREQUENCY, row));
+        word.setWord(string(WORD, row));
+        word.setTranslation(string(TRANSLATION, row));
+        word.setCategory(string(CATEGORY, row));
+        word.setCategory2(string(CATEGORY2, row));
+        word.setSource(string(SOURCE, row));
+        word.setComment(string(COMMENT, row));
+        word.setExample(string(EXAMPLE, row));
+        word.setSynonyms(string(SYNONYMS, row));
+        word.setWordFormation(string(WORD_FORMATION, row));
+        return word;
+    }
+
+    /**
+     * Reads a single field of a word without decoding the others.
+     *
+     * @param row   the position of the word in the snapshot
+     * @param field the name of a persistent {@link FinnishWord} field
+     * @return the value of the field, typed like the entity field
+     * @throws IllegalArgumentException if the field is unknown
+     */
+    public Object value(int row, String field) {
+        return switch (field) {
+            case "id" -> id(row);
+            case "version" -> buffer.getLong(versionsOffset + 8 * row);
+            case "dateAdded" -> date(DATE_ADDED, row);
+            case "dateRepeated" -> date(DATE_REPEATED, row);
+            case "level" -> integer(LEVEL, row);
+            case "popularity" -> integer(POPULARITY, row);
+            case "repeatAgain" -> integer(REPEAT_AGAIN, row);
+            case "frequency" -> integer(FREQUENCY, row);
+            case "word" -> string(WORD, row);
+            case "translation" -> string(TRANSLATION, row);
+            case "category" -> string(CATEGORY, row);
+            case "category2" -> string(CATEGORY2, row);
+            case "source" -> string(SOURCE, row);
+            case "comment" -> string(COMMENT, row);
+            case "example" -> string(EXAMPLE, row);
+            case "synonyms" -> string(SYNONYMS, row);
+            case "wordFormation" -> string(WORD_FORMATION, row);
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        };
+    }
+
+    /**
+     * @return all words in ascending ID order, decoded lazily
+     */
+    public Stream<FinnishWord> words() {
+        return IntStream.range(0, count).mapToObj(this::word);
+    }
+
+    private Integer integer(int column, int row) {
+        int value = buffer.getInt(intColumnsOffset + 4 * (column * count + row));
+        return value != NULL_INT ? value : null;
+    }
+
+    private LocalDate date(int column, int row) {
+        Integer epochDay = integer(column, row);
+        return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private String string(int column, int row) {
+        int index = buffer.getInt(stringColumnsOffset + 4 * (column * count + row));
+        if (index == NULL_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsOffset + 4 * index);
+        int end = buffer.getInt(stringOffsetsOffset + 4 * (index + 1));
+        return StandardCharsets.UTF_8.decode(buffer.slice(stringBytesOffset + start, end - start)).toString();
+    }
+}
@@ -0,0 +1,14 @@
+package org.oleg.dictionary.snapshot;
+
+/**
+ * Thrown when an operation needs the database but the application serves the dictionary from a snapshot only.
+ */
+public class ReadOnlyModeException extends RuntimeException {
+
+    /**
+     * @param message describes the operation that is not available
+     */
+    public ReadOnlyModeException(String message) {
+        super(message);
+    }
+}
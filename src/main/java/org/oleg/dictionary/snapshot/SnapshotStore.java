@@ -0,0 +1,126 @@
+package org.oleg.dictionary.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the current {@link MappedSnapshot} of the dictionary.
+ * <p>
+ * If {@code dictionary.snapshot.path} is set, the snapshot file is mapped when the application starts, and the
+ * {@link org.oleg.dictionary.index.WordChangeDispatcher} fills the in-memory indexes from it instead of reading
+ * the whole table, as long as the table has not changed since. With {@code dictionary.snapshot.read-only} the
+ * application runs without a database and answers read requests from the snapshot only; it then refuses to start
+ * without a readable snapshot.
+ * </p>
+ */
+@Component
+public class SnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private final Path path;
+    private final boolean readOnly;
+    private volatile MappedSnapshot current;
+
+    /**
+     * Creates the store and maps the snapshot file, if it exists.
+     *
+     * @param path     the snapshot file, or blank to disable snapshots
+     * @param readOnly whether the application serves the dictionary from the snapshot without a database
+     * @throws IOException if the application is read-only and the snapshot cannot be read
+     */
+    public SnapshotStore(@Value("${dictionary.snapshot.path:}") String path,
+                         @Value("${dictionary.snapshot.read-only:false}") boolean readOnly) throws IOException {
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.readOnly = readOnly;
+        if (this.path == null) {
+            if (readOnly) {
+                throw new IllegalStateException("dictionary.snapshot.read-only requires dictionary.snapshot.path");
+            }
+            return;
+        }
+        if (!Files.exists(this.path)) {
+            if (readOnly) {
+                throw new IllegalStateException("No dictionary snapshot found at " + this.path);
+            }
+            log.info("No dictionary snapshot at {} yet", this.path);
+            return;
+        }
+        try {
+            reload();
+        } catch (IOException e) {
+            if (readOnly) {
+                throw e;
+            }
+            log.warn("Ignoring unreadable dictionary snapshot {}", this.path, e);
+        }
+    }
+
+    /**
+     * @return {@code true} if a snapshot path is configured
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * @return {@code true} if the application serves the dictionary from the snapshot without a database
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return the configured snapshot file, or {@code null} if snapshots are disabled
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return the current snapshot, or {@code null} if none has been mapped
+     */
+    public MappedSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Maps the snapshot file again, typically after it has been rewritten. Readers holding the previous snapshot
+     * keep using its mapping, which is released once it is no longer referenced.
+     *
+     * @return the new current snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public MappedSnapshot reload() throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(path);
+        current = snapshot;
+        log.info("Mapped dictionary snapshot {} with {} words, written at {}",
+                path, snapshot.size(), snapshot.createdAt());
+        return snapshot;
+    }
+
+    /**
+     * @return the configuration of the store and the size, age and fingerprint of the current snapshot
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("enabled", isEnabled());
+        description.put("readOnly", readOnly);
+        description.put("path", path != null ? path.toString() : null);
+        MappedSnapshot snapshot = current;
+        if (snapshot != null) {
+            description.put("words", snapshot.size());
+            description.put("createdAt", snapshot.createdAt());
+            description.put("fingerprint", snapshot.fingerprint());
+        }
+        return description;
+    }
+}
@@ -0,0 +1,178 @@
+package org.oleg.dictionary.snapshot;
+
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.repository.TableFingerprint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.oleg.dictionary.snapshot.MappedSnapshot.*;
+
+/**
+ * Collects words and writes them in the binary format read by {@link MappedSnapshot}.
+ * <p>
+ * Words are added one at a time in ascending ID order, for example from a database cursor, and are kept only as
+ * column arrays and a pool of distinct strings, so repeated categories and sources are stored once. The fingerprint
+ * stored in the header is computed from the added words, which makes it consistent with the content even if the
+ * table changes while the words are read.
+ * </p>
+ */
+public final class SnapshotWriter {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int count;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private final int[][] ints = new int[INT_COLUMNS][INITIAL_CAPACITY];
+    private final int[][] strings = new int[STRING_COLUMNS][INITIAL_CAPACITY];
+
+    private final Map<String, Integer> pool = new HashMap<>();
+    private final ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+    private int[] stringOffsets = new int[INITIAL_CAPACITY];
+
+    private long versionSum;
+
+    /**
+     * Adds a word to the snapshot.
+     *
+     * @param word the word, with a higher ID than all words added before
+     * @throws IllegalArgumentException if the word has no ID or is out of order
+     */
+    public void add(FinnishWord word) {
+        Long id = word.getId();
+        if (id == null || (count > 0 && id <= ids[count - 1])) {
+            throw new IllegalArgumentException("Words must be added in ascending ID order, got " + id);
+        }
+        if (count == ids.length) {
+            int capacity = count * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            for (int column = 0; column < INT_COLUMNS; column++) {
+                ints[column] = Arrays.copyOf(ints[column], capacity);
+            }
+            for (int column = 0; column < STRING_COLUMNS; column++) {
+                strings[column] = Arrays.copyOf(strings[column], capacity);
+            }
+        }
+
+        long version = word.getVersion() != null ? word.getVersion() : 0;
+        ids[count] = id;
+        versions[count] = version;
+        versionSum += version;
+
+        ints[DATE_ADDED][count] = epochDay(word.getDateAdded());
+        ints[DATE_REPEATED][count] = epochDay(word.getDateRepeated());
+        ints[LEVEL][count] = intValue(word.getLevel());
+        ints[POPULARITY][count] = intValue(word.getPopularity());
+        ints[REPEAT_AGAIN][count] = intValue(word.getRepeatAgain());
+        ints[FREQUENCY][count] = intValue(word.getFrequency());
+
+        strings[WORD][count] = intern(word.getWord());
+        strings[TRANSLATION][count] = intern(word.getTranslation());
+        strings[CATEGORY][count] = intern(word.getCategory());
+        strings[CATEGORY2][count] = intern(word.getCategory2());
+        strings[SOURCE][count] = intern(word.getSource());
+        strings[COMMENT][count] = intern(word.getComment());
+        strings[EXAMPLE][count] = intern(word.getExample());
+        strings[SYNONYMS][count] = intern(word.getSynonyms());
+        strings[WORD_FORMATION][count] = intern(word.getWordFormation());
+        count++;
+    }
+
+    /**
+     * @return the number of words added so far
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the fingerprint of the added words, as {@link org.oleg.dictionary.repository.FinnishWordRepository#fingerprint()}
+     *         would report it for a table holding exactly these words
+     */
+    public TableFingerprint fingerprint() {
+        return new TableFingerprint(count, count > 0 ? ids[count - 1] : 0, versionSum);
+    }
+
+    /**
+     * Writes the snapshot to a file, replacing its content, and forces it to the storage device.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written or the snapshot would be larger than 2 GB
+     */
+    public void write(Path path) throws IOException {
+        int stringCount = pool.size();
+        byte[] bytes = stringBytes.toByteArray();
+        long[] offsets = sectionOffsets(count, stringCount);
+        long size = offsets[4] + bytes.length;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The snapshot would be larger than 2 GB");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            TableFingerprint fingerprint = fingerprint();
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(count)
+                    .putInt(stringCount)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(fingerprint.count())
+                    .putLong(fingerprint.maxId())
+                    .putLong(fingerprint.versionSum())
+                    .putLong(bytes.length)
+                    .putLong(0);
+
+            buffer.asLongBuffer().put(ids, 0, count);
+            buffer.position((int) offsets[0]);
+            buffer.asLongBuffer().put(versions, 0, count);
+            buffer.position((int) offsets[1]);
+            for (int column = 0; column < INT_COLUMNS; column++) {
+                buffer.asIntBuffer().put(ints[column], 0, count);
+                buffer.position(buffer.position() + 4 * count);
+            }
+            for (int column = 0; column < STRING_COLUMNS; column++) {
+                buffer.asIntBuffer().put(strings[column], 0, count);
+                buffer.position(buffer.position() + 4 * count);
+            }
+            buffer.asIntBuffer().put(stringOffsets, 0, stringCount).put(bytes.length);
+            buffer.position((int) offsets[4]);
+            buffer.put(bytes);
+            buffer.force();
+        }
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return NULL_STRING;
+        }
+        return pool.computeIfAbsent(value, v -> {
+            int index = pool.size();
+            if (index == stringOffsets.length) {
+                stringOffsets = Arrays.copyOf(stringOffsets, index * 2);
+            }
+            stringOffsets[index] = stringBytes.size();
+            stringBytes.writeBytes(v.getBytes(StandardCharsets.UTF_8));
+            return index;
+        });
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NULL_INT;
+    }
+
+    private static int intValue(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+}
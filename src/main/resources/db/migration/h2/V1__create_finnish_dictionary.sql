@@ -0,0 +1,18 @@
+create table if not exists finnish_dictionary (
+    id             bigint generated by default as identity primary key,
+    date_added     date,
+    date_repeated  date,
+    level          integer,
+    word           varchar(255) not null,
+    translation    varchar,
+    category       varchar(255),
+    category2      varchar(255),
+    source         varchar(255),
+    popularity     integer,
+    repeat_again   integer,
+    comment        varchar,
+    example        varchar,
+    synonyms       varchar,
+    word_formation varchar,
+    frequency      integer
+);
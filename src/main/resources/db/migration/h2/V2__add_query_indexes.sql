@@ -0,0 +1,6 @@
+-- H2 has no expression or trigram indexes, so only the plain column indexes of the PostgreSQL migration exist here
+create index if not exists idx_finnish_dictionary_level_date_repeated
+    on finnish_dictionary (level, date_repeated, id);
+
+create index if not exists idx_finnish_dictionary_date_repeated
+    on finnish_dictionary (date_repeated, id);
@@ -0,0 +1,2 @@
+-- Optimistic locking version, incremented by every update of a word.
+alter table finnish_dictionary add column version bigint default 0 not null;
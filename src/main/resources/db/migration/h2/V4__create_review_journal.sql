@@ -0,0 +1,15 @@
+-- Append-only journal of review outcomes, written in batches by the review journal.
+-- There is no foreign key, so that the history outlives deleted words and inserts need no lookup.
+create table if not exists review_journal (
+    id                     bigint generated by default as identity primary key,
+    word_id                bigint                   not null,
+    reviewed_at            timestamp with time zone not null,
+    previous_level         integer,
+    new_level              integer,
+    previous_date_repeated date,
+    date_repeated          date
+);
+
+-- History of a word, latest first
+create index if not exists idx_review_journal_word_id_reviewed_at
+    on review_journal (word_id, reviewed_at);
@@ -0,0 +1,19 @@
+-- Schema as previously created by Hibernate. Existing databases are baselined at this version.
+create table if not exists finnish_dictionary (
+    id             bigint generated by default as identity primary key,
+    date_added     date,
+    date_repeated  date,
+    level          integer,
+    word           varchar(255) not null,
+    translation    text,
+    category       varchar(255),
+    category2      varchar(255),
+    source         varchar(255),
+    popularity     integer,
+    repeat_again   integer,
+    comment        text,
+    example        text,
+    synonyms       text,
+    word_formation text,
+    frequency      integer
+);
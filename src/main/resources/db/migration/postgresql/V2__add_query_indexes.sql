@@ -0,0 +1,22 @@
+create extension if not exists pg_trgm;
+
+-- Level filters and the repetition queries (oldest repeat date per level, due words per level);
+-- the leading level column also serves plain level lookups
+create index if not exists idx_finnish_dictionary_level_date_repeated
+    on finnish_dictionary (level, date_repeated, id);
+
+-- Keyset pages ordered by repeat date
+create index if not exists idx_finnish_dictionary_date_repeated
+    on finnish_dictionary (date_repeated, id);
+
+-- Case-insensitive equality filters
+create index if not exists idx_finnish_dictionary_lower_category
+    on finnish_dictionary (lower(category));
+create index if not exists idx_finnish_dictionary_lower_source
+    on finnish_dictionary (lower(source));
+
+-- Case-insensitive substring searches (lower(...) like '%text%')
+create index if not exists idx_finnish_dictionary_word_trgm
+    on finnish_dictionary using gin (lower(word) gin_trgm_ops);
+create index if not exists idx_finnish_dictionary_translation_trgm
+    on finnish_dictionary using gin (lower(translation) gin_trgm_ops);
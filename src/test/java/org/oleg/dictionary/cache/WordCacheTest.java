@@ -0,0 +1,68 @@
+package org.oleg.dictionary.cache;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WordCacheTest {
+
+	@Test
+	void loadsOnlyMissingWords() {
+		WordCache cache = cache();
+		List<List<Long>> loads = new ArrayList<>();
+
+		cache.getWords(List.of(1L, 2L), ids -> load(loads, ids));
+		List<FinnishWord> words = cache.getWords(List.of(2L, 3L, 1L), ids -> load(loads, ids));
+
+		assertEquals(List.of(List.of(1L, 2L), List.of(3L)), loads);
+		assertEquals(List.of(2L, 3L, 1L), words.stream().map(FinnishWord::getId).toList());
+	}
+
+	@Test
+	void invalidatesWrittenWordsAndQueryResults() {
+		WordCache cache = cache();
+		AtomicInteger loads = new AtomicInteger();
+		cache.getWord(1L, id -> Optional.of(word(id)));
+		cache.getQuery("stats", loads::incrementAndGet);
+		cache.getQuery("stats", loads::incrementAndGet);
+
+		cache.wordDeleted(1L);
+
+		assertEquals(Optional.empty(), cache.getWord(1L, id -> Optional.empty()));
+		assertEquals(2, (int) cache.getQuery("stats", loads::incrementAndGet));
+	}
+
+	@Test
+	void doesNotStoreLoadsThatOverlapAWrite() {
+		WordCache cache = cache();
+
+		cache.getWord(1L, id -> {
+			cache.wordSaved(word(id));
+			return Optional.of(word(id));
+		});
+
+		assertEquals(Optional.empty(), cache.getWord(1L, id -> Optional.empty()));
+	}
+
+	private static WordCache cache() {
+		return new WordCache(true, 100, 100, Duration.ofMinutes(10));
+	}
+
+	private static List<FinnishWord> load(List<List<Long>> loads, List<Long> ids) {
+		loads.add(List.copyOf(ids));
+		return ids.stream().map(WordCacheTest::word).toList();
+	}
+
+	private static FinnishWord word(Long id) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		return word;
+	}
+}
@@ -0,0 +1,193 @@
+package org.oleg.dictionary.changes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedTest {
+
+	private static final Duration NO_HEARTBEAT = Duration.ofHours(1);
+
+	private ChangeFeed feed;
+
+	@AfterEach
+	void closeFeed() {
+		feed.destroy();
+	}
+
+	@Test
+	void sendsTheSummaryOfInsertedWords() throws InterruptedException {
+		feed = new ChangeFeed(100, NO_HEARTBEAT, Duration.ofSeconds(10), 2);
+		RecordingEmitter client = subscribe(null);
+
+		feed.wordCreated(word(1));
+
+		Event event = client.next();
+		assertEquals("insert", event.name());
+		Map<?, ?> data = (Map<?, ?>) event.change().data();
+		assertEquals(1L, data.get("id"));
+		assertEquals(3L, data.get("version"));
+		assertEquals("sana1", data.get("word"));
+		assertFalse(data.containsKey("translation"));
+	}
+
+	@Test
+	void resumesAfterTheLastEventId() throws InterruptedException {
+		feed = new ChangeFeed(100, NO_HEARTBEAT, Duration.ofSeconds(10), 2);
+		RecordingEmitter first = subscribe(null);
+		for (long id = 1; id <= 3; id++) {
+			feed.wordCreated(word(id));
+		}
+		List<Event> received = List.of(first.next(), first.next(), first.next());
+
+		RecordingEmitter resumed = subscribe(received.get(0).id());
+
+		assertEquals(received.get(1).id(), resumed.next().id());
+		assertEquals(received.get(2).id(), resumed.next().id());
+		feed.wordDeleted(4L);
+		Event deleted = resumed.next();
+		assertEquals("delete", deleted.name());
+		assertEquals(4L, deleted.change().id());
+	}
+
+	@Test
+	void resetsWhenTheMissedEventsAreGone() throws InterruptedException {
+		feed = new ChangeFeed(3, NO_HEARTBEAT, Duration.ofSeconds(10), 2);
+		RecordingEmitter first = subscribe(null);
+		List<Event> received = new ArrayList<>();
+		for (long id = 1; id <= 5; id++) {
+			feed.wordCreated(word(id));
+			received.add(first.next());
+		}
+
+		// The first two events have been overwritten in the log
+		Event reset = subscribe(received.get(0).id()).next();
+		assertEquals("reset", reset.name());
+		assertEquals(received.get(4).id(), reset.id());
+
+		// An event ID of an earlier run of the server
+		assertEquals("reset", subscribe("0-1").next().name());
+	}
+
+	@Test
+	void dropsStalledSubscribersWithoutDelayingOthers() throws InterruptedException {
+		feed = new ChangeFeed(100, NO_HEARTBEAT, Duration.ofMillis(100), 2);
+		RecordingEmitter stalled = subscribe(null);
+		RecordingEmitter healthy = subscribe(null);
+		stalled.block();
+
+		feed.wordCreated(word(1));
+		assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+		assertEquals(1L, healthy.next().change().id());
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (feed.subscriberCount() > 1 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, feed.subscriberCount());
+		feed.wordCreated(word(2));
+		assertEquals(2L, healthy.next().change().id());
+
+		// The stalled subscriber is completed once its write returns, and receives nothing more
+		assertFalse(stalled.completed.await(100, TimeUnit.MILLISECONDS));
+		stalled.unblock();
+		assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(1L, stalled.next().change().id());
+		assertTrue(stalled.events.isEmpty());
+	}
+
+	private RecordingEmitter subscribe(String lastEventId) {
+		RecordingEmitter emitter = new RecordingEmitter();
+		feed.subscribe(emitter, lastEventId);
+		return emitter;
+	}
+
+	private static FinnishWord word(long id) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		word.setVersion(3L);
+		word.setWord("sana" + id);
+		word.setTranslation("word " + id);
+		return word;
+	}
+
+	private record Event(String name, String id, ChangeEvent change) {
+	}
+
+	/**
+	 * An emitter that records the events sent to it instead of writing them to a response,
+	 * and whose writes can be blocked like those to a client that stopped reading.
+	 */
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+		private final CountDownLatch sending = new CountDownLatch(1);
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sending.countDown();
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			String name = null;
+			String id = null;
+			ChangeEvent change = null;
+			for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+				if (part.getData() instanceof String text) {
+					for (String line : text.split("\n")) {
+						if (line.startsWith("event:")) {
+							name = line.substring(6);
+						} else if (line.startsWith("id:")) {
+							id = line.substring(3);
+						}
+					}
+				} else if (part.getData() instanceof ChangeEvent event) {
+					change = event;
+				}
+			}
+			if (name != null) {
+				events.add(new Event(name, id, change));
+			}
+		}
+
+		@Override
+		public synchronized void complete() {
+			completed.countDown();
+			super.complete();
+		}
+
+		private void block() {
+			blocked = new CountDownLatch(1);
+		}
+
+		private void unblock() {
+			blocked.countDown();
+		}
+
+		private Event next() throws InterruptedException {
+			Event event = events.poll(5, TimeUnit.SECONDS);
+			assertNotNull(event, "No event received");
+			return event;
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package org.oleg.dictionary.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeLogTest {
+
+	@Test
+	void returnsEventsAfterSequenceInOrder() {
+		ChangeLog log = new ChangeLog(10);
+		for (long id = 1; id <= 5; id++) {
+			log.append("insert", id, null);
+		}
+
+		List<ChangeEvent> events = log.after(2, 100);
+
+		assertEquals(List.of(3L, 4L, 5L), events.stream().map(ChangeEvent::sequence).toList());
+		assertEquals(List.of(3L, 4L), log.after(2, 2).stream().map(ChangeEvent::id).toList());
+		assertTrue(log.after(5, 100).isEmpty());
+	}
+
+	@Test
+	void reportsOverwrittenEvents() {
+		ChangeLog log = new ChangeLog(3);
+		for (long id = 1; id <= 5; id++) {
+			log.append("update", id, null);
+		}
+
+		assertNull(log.after(1, 100));
+		assertEquals(List.of(3L, 4L, 5L), log.after(2, 100).stream().map(ChangeEvent::sequence).toList());
+		assertEquals(5, log.lastSequence());
+	}
+}
@@ -0,0 +1,59 @@
+package org.oleg.dictionary.controller;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.changes.DictionaryVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConditionalRequestInterceptorTest {
+
+	private final DictionaryVersion version = new DictionaryVersion();
+	private final ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor(version);
+
+	@Test
+	void answersAMatchingTagWithNotModified() {
+		String eTag = get(null).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse response = get(eTag);
+
+		assertEquals(304, response.getStatus());
+	}
+
+	@Test
+	void detectsAWriteWithinTheSameSecond() {
+		MockHttpServletResponse first = get(null);
+		assertNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+
+		version.wordDeleted(1L);
+		MockHttpServletResponse second = get(first.getHeader(HttpHeaders.ETAG));
+
+		assertEquals(200, second.getStatus());
+		assertNotEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void ignoresIfModifiedSince() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/words/stats");
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 60_000);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertTrue(interceptor.preHandle(request, response, new Object()));
+		assertEquals(200, response.getStatus());
+	}
+
+	private MockHttpServletResponse get(String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/words/stats");
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		interceptor.preHandle(request, response, new Object());
+		return response;
+	}
+}
@@ -0,0 +1,86 @@
+package org.oleg.dictionary.index;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.repository.LevelRepeatCount;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnStoreTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2024, 5, 20);
+
+	@Test
+	void filtersLikeTheDatabaseQuery() {
+		ColumnStore store = store();
+
+		assertArrayEquals(new long[]{1, 2, 3, 4}, store.filter(filter(null, null, null, null), TODAY));
+		assertArrayEquals(new long[]{1, 3}, store.filter(filter(1, null, null, null), TODAY));
+		assertArrayEquals(new long[]{3}, store.filter(filter(1, "VERB", null, null), TODAY));
+		assertArrayEquals(new long[]{1, 2}, store.filter(filter(null, null, 100, null), TODAY));
+		assertArrayEquals(new long[]{2}, store.filter(filter(null, null, null, 3L), TODAY));
+		assertArrayEquals(new long[0], store.filter(filter(null, "unknown", null, null), TODAY));
+	}
+
+	@Test
+	void followsUpgradesAndDeletes() {
+		ColumnStore store = store();
+		store.upgrade(1, 2, TODAY);
+		store.remove(4);
+
+		assertArrayEquals(new long[]{1, 2}, store.filter(filter(2, null, null, null), TODAY));
+		assertArrayEquals(new long[]{1, 2, 3}, store.filter(filter(null, null, null, null), TODAY));
+	}
+
+	@Test
+	void countsFacetValuesOfMatchingWords() {
+		ColumnStore store = store();
+
+		WordFacets facets = store.facets(filter(null, null, 100, null), TODAY);
+
+		assertEquals(2, facets.total());
+		assertEquals(Map.of("noun", 2L), facets.category());
+		assertEquals(Map.of(1, 1L, 2, 1L), facets.level());
+	}
+
+	@Test
+	void countsWordsPerLevelAndRepeatDate() {
+		ColumnStore store = store();
+		store.upgrade(1, 2, TODAY.minusDays(3));
+
+		Map<String, Long> counts = store.buckets().stream()
+				.collect(Collectors.toMap(b -> b.getLevel() + "/" + b.getDateRepeated(), LevelRepeatCount::getCount));
+
+		assertEquals(Map.of("2/2024-05-17", 2L, "1/2024-05-10", 1L, "null/null", 1L), counts);
+	}
+
+	private static ColumnStore store() {
+		ColumnStore store = new ColumnStore();
+		store.put(word(3, 1, "verb", null, TODAY.minusDays(10)));
+		store.put(word(1, 1, "noun", 50, TODAY.minusDays(10)));
+		store.put(word(2, 2, "Noun", 100, TODAY.minusDays(3)));
+		store.put(word(4, null, null, 500, null));
+		return store;
+	}
+
+	private static WordFilter filter(Integer level, String category, Integer frequency, Long daysSinceLastRepeat) {
+		return new WordFilter(daysSinceLastRepeat, level, null, frequency, null, category, null, null);
+	}
+
+	private static FinnishWord word(long id, Integer level, String category, Integer frequency, LocalDate dateRepeated) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		word.setLevel(level);
+		word.setCategory(category);
+		word.setFrequency(frequency);
+		word.setDateRepeated(dateRepeated);
+		return word;
+	}
+}
@@ -0,0 +1,55 @@
+package org.oleg.dictionary.index;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FormIndexTest {
+
+	@Test
+	void resolvesInflectedFormsToTheirHeadwords() {
+		FormIndex index = new FormIndex();
+		index.put(FormIndex.entry(word(1L, "talo", "talon, taloa; talossa (taloja)", "rakennus")));
+		index.put(FormIndex.entry(word(2L, "rakennus", "rakennuksen, rakennusta", "talo")));
+
+		assertEquals(List.of(1L), index.lookup(FormIndex.normalize("Talossa"), true, 10));
+		assertEquals(List.of(1L), index.lookup(FormIndex.normalize("taloja"), true, 10));
+		assertEquals(List.of(1L, 2L), index.lookup(FormIndex.normalize("talo"), true, 10));
+		assertEquals(List.of(1L), index.lookup(FormIndex.normalize("talo"), false, 10));
+		assertEquals(List.of(), index.lookup(FormIndex.normalize("tal"), true, 10));
+	}
+
+	@Test
+	void indexesMultiWordEntriesAsAWhole() {
+		FormIndex index = new FormIndex();
+		index.put(FormIndex.entry(word(1L, "pitää", "pidän, pidät", "pitää kiinni, säilyttää")));
+
+		assertEquals(List.of(1L), index.lookup(FormIndex.normalize("pitää  KIINNI"), true, 10));
+		assertEquals(List.of(1L), index.lookup(FormIndex.normalize("säilyttää"), true, 10));
+	}
+
+	@Test
+	void forgetsRemovedAndReplacedWords() {
+		FormIndex index = new FormIndex();
+		index.put(FormIndex.entry(word(1L, "talo", "talossa", null)));
+		index.put(FormIndex.entry(word(2L, "kissa", "kissan", null)));
+		index.remove(2L);
+		index.put(FormIndex.entry(word(1L, "talo", "talon", null)));
+
+		assertEquals(List.of(), index.lookup("talossa", true, 10));
+		assertEquals(List.of(), index.lookup("kissan", true, 10));
+		assertEquals(List.of(1L), index.lookup("talon", true, 10));
+	}
+
+	private static FinnishWord word(Long id, String text, String wordFormation, String synonyms) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		word.setWord(text);
+		word.setWordFormation(wordFormation);
+		word.setSynonyms(synonyms);
+		return word;
+	}
+}
@@ -0,0 +1,50 @@
+package org.oleg.dictionary.index;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdSamplerTest {
+
+	@Test
+	void drawsDistinctIdsReproducibly() {
+		IdSampler sampler = sampler(100);
+
+		List<Long> first = sampler.sample(10, new SplittableRandom(1), Set.of());
+		List<Long> second = sampler.sample(10, new SplittableRandom(1), Set.of());
+
+		assertEquals(first, second);
+		assertEquals(10, new HashSet<>(first).size());
+	}
+
+	@Test
+	void skipsExcludedAndDeletedIds() {
+		IdSampler sampler = sampler(10);
+		sampler.wordDeleted(3L);
+
+		List<Long> ids = sampler.sample(20, new SplittableRandom(1), Set.of(1L, 2L));
+
+		assertEquals(7, ids.size());
+		assertTrue(ids.stream().allMatch(id -> id > 3));
+	}
+
+	private static IdSampler sampler(int size) {
+		IdSampler sampler = new IdSampler();
+		// Save in reverse order to exercise inserts before existing IDs
+		LongStream.rangeClosed(1, size).map(i -> size + 1 - i).forEach(id -> {
+			FinnishWord word = new FinnishWord();
+			word.setId(id);
+			sampler.wordSaved(word);
+		});
+		sampler.loadCompleted();
+		return sampler;
+	}
+}
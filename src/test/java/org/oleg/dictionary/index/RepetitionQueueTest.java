@@ -0,0 +1,63 @@
+package org.oleg.dictionary.index;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.WordCursor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepetitionQueueTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2024, 5, 20);
+
+	@Test
+	void returnsWordsWithTheOldestRepeatDate() {
+		RepetitionQueue queue = queue();
+
+		assertEquals(List.of(1L, 3L), queue.oldest(1, null, 10));
+		assertEquals(List.of(3L), queue.oldest(1, new WordCursor(null, 1), 10));
+	}
+
+	@Test
+	void returnsDueWordsAccordingToTheLevelInterval() {
+		RepetitionQueue queue = queue();
+
+		// Level 1 has an interval of 2 days, so words repeated on or before May 18 are due
+		assertEquals(List.of(1L, 3L, 2L), queue.due(1, TODAY, null, 10));
+		assertEquals(List.of(2L), queue.due(1, TODAY, new WordCursor(TODAY.minusDays(10), 3), 10));
+	}
+
+	@Test
+	void movesUpgradedAndForgetsDeletedWords() {
+		RepetitionQueue queue = queue();
+		queue.wordsUpgraded(List.of(new LevelChange(1L, 1, 2, TODAY.minusDays(10), TODAY)));
+		queue.wordDeleted(3L);
+
+		assertEquals(List.of(2L), queue.oldest(1, null, 10));
+		assertEquals(List.of(1L), queue.oldest(2, null, 10));
+	}
+
+	private static RepetitionQueue queue() {
+		RepetitionQueue queue = new RepetitionQueue(List.of(0, 2));
+		queue.wordsLoaded(List.of(
+				word(1L, 1, TODAY.minusDays(10)),
+				word(2L, 1, TODAY.minusDays(5)),
+				word(3L, 1, TODAY.minusDays(10)),
+				word(4L, 1, TODAY.minusDays(1)),
+				word(5L, 2, null)));
+		queue.loadCompleted();
+		return queue;
+	}
+
+	private static FinnishWord word(Long id, Integer level, LocalDate dateRepeated) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		word.setLevel(level);
+		word.setDateRepeated(dateRepeated);
+		return word;
+	}
+}
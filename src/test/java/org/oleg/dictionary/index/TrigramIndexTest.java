@@ -0,0 +1,73 @@
+package org.oleg.dictionary.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+
+	@Test
+	void ranksPrefixMatchesFirst() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "kesätalo");
+		index.put(2, "Talous");
+		index.put(3, "talo");
+		index.put(4, "kissa");
+
+		assertEquals(List.of(3L, 2L, 1L), index.search("TAL", false, 10));
+		assertEquals(List.of(3L), index.search("tal", false, 1));
+	}
+
+	@Test
+	void foldsFinnishLettersOnlyWhenRequested() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "pää");
+		index.put(2, "paahtaa");
+
+		assertEquals(List.of(1L), index.search("pää", false, 10));
+		assertEquals(List.of(2L), index.search("paa", false, 10));
+		assertEquals(List.of(1L, 2L), index.search("paa", true, 10));
+	}
+
+	@Test
+	void findsQueriesShorterThanATrigram() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "kesätalo");
+		index.put(2, "Talous");
+		index.put(3, "talo");
+		index.put(4, "kissa");
+		index.put(5, "ta");
+
+		assertEquals(List.of(5L, 3L, 2L, 1L), index.search("TA", false, 10));
+		assertEquals(List.of(4L, 1L), index.search("k", false, 10));
+		assertEquals(List.of(4L), index.search("ss", false, 10));
+		assertEquals(List.of(), index.search("x", false, 10));
+	}
+
+	@Test
+	void foldsShortQueriesOnlyWhenRequested() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "yö");
+		index.put(2, "koti");
+
+		assertEquals(List.of(1L), index.search("ö", false, 10));
+		assertEquals(List.of(2L), index.search("o", false, 10));
+		assertEquals(List.of(1L, 2L), index.search("o", true, 10));
+		assertEquals(List.of(1L), index.search("Yo", true, 10));
+	}
+
+	@Test
+	void forgetsRemovedAndReplacedTexts() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "talo");
+		index.put(2, "talvi");
+		index.remove(1);
+		index.put(2, "kesä");
+
+		assertEquals(List.of(), index.search("tal", false, 10));
+		assertEquals(List.of(), index.search("lv", false, 10));
+		assertEquals(List.of(2L), index.search("es", false, 10));
+	}
+}
@@ -0,0 +1,119 @@
+package org.oleg.dictionary.index;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.repository.FinnishWordRepository;
+import org.oleg.dictionary.snapshot.SnapshotStore;
+import org.oleg.dictionary.snapshot.SnapshotWriter;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class WordChangeDispatcherTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2024, 5, 20);
+
+	@TempDir
+	Path directory;
+
+	private final ColumnarSnapshot columnar = new ColumnarSnapshot(true);
+	private final TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+	private WordChangeDispatcher dispatcher;
+
+	@BeforeEach
+	void loadDictionary() throws IOException {
+		Path file = directory.resolve("dictionary.snapshot");
+		SnapshotWriter writer = new SnapshotWriter();
+		writer.add(word(1, 1));
+		writer.add(word(2, 2));
+		writer.write(file);
+
+		// Without a repository the dispatcher loads the snapshot
+		StaticListableBeanFactory beans = new StaticListableBeanFactory();
+		dispatcher = new WordChangeDispatcher(beans.getBeanProvider(FinnishWordRepository.class),
+				beans.getBeanProvider(EntityManager.class), new SnapshotStore(file.toString(), false),
+				List.of(columnar));
+		dispatcher.load();
+	}
+
+	@Test
+	void appliesChangesOnceTheTransactionCommits() {
+		transaction.executeWithoutResult(status -> {
+			dispatcher.wordsUpgraded(List.of(new LevelChange(1L, 1, 2, null, TODAY)));
+			// Not visible before the commit
+			assertArrayEquals(new long[]{1}, columnar.filter(level(1), TODAY));
+		});
+
+		assertArrayEquals(new long[0], columnar.filter(level(1), TODAY));
+		assertArrayEquals(new long[]{1, 2}, columnar.filter(level(2), TODAY));
+	}
+
+	@Test
+	void keepsTheCommittedStateWhenTheTransactionRollsBack() {
+		transaction.executeWithoutResult(status -> {
+			dispatcher.wordsUpgraded(List.of(new LevelChange(1L, 1, 2, null, TODAY)));
+			dispatcher.wordDeleted(2L);
+			status.setRollbackOnly();
+		});
+
+		assertArrayEquals(new long[]{1}, columnar.filter(level(1), TODAY));
+		assertArrayEquals(new long[]{2}, columnar.filter(level(2), TODAY));
+	}
+
+	@Test
+	void appliesChangesOutsideTransactionsImmediately() {
+		dispatcher.wordDeleted(2L);
+
+		assertArrayEquals(new long[0], columnar.filter(level(2), TODAY));
+	}
+
+	private static WordFilter level(int level) {
+		return new WordFilter(null, level, null, null, null, null, null, null);
+	}
+
+	private static FinnishWord word(long id, int level) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		word.setWord("sana" + id);
+		word.setLevel(level);
+		word.setVersion(0L);
+		return word;
+	}
+
+	/**
+	 * Transaction manager without a resource, so that only the transaction synchronizations take effect.
+	 */
+	private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+	}
+}
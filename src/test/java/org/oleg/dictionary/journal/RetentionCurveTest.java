@@ -0,0 +1,52 @@
+package org.oleg.dictionary.journal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RetentionCurveTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2024, 5, 20);
+
+	@Test
+	void countsReviewsAndRecallsPerInterval() {
+		RetentionCurve curve = new RetentionCurve(List.of(0, 1, 7));
+		curve.add(review(3, 2, 3));
+		curve.add(review(5, 3, 1));
+		curve.add(review(30, 4, 5));
+		curve.add(new ReviewEvent(4, Instant.EPOCH, null, 1, null, TODAY));
+
+		RetentionStatistics statistics = curve.statistics();
+
+		assertEquals(4, statistics.reviews());
+		assertEquals(1, statistics.firstReviews());
+		List<RetentionStatistics.Interval> intervals = statistics.intervals();
+		assertEquals(new RetentionStatistics.Interval(0, 1, 0, 0, null), intervals.get(0));
+		assertEquals(new RetentionStatistics.Interval(1, 7, 2, 1, 0.5), intervals.get(1));
+		assertEquals(new RetentionStatistics.Interval(7, null, 1, 1, 1.0), intervals.get(2));
+	}
+
+	@Test
+	void addsAggregatedCounts() {
+		RetentionCurve curve = new RetentionCurve(List.of(2));
+		curve.add(TODAY.minusDays(1), TODAY, true, 3);
+		curve.add(TODAY.plusDays(1), TODAY, false, 1);
+
+		RetentionStatistics.Interval first = curve.statistics().intervals().get(0);
+
+		// 0 is added as the first bound, and repeat dates moved backwards count towards it
+		assertEquals(0, first.fromDays());
+		assertEquals(4, first.reviews());
+		assertEquals(0.75, first.retention());
+		assertNull(curve.statistics().intervals().get(1).retention());
+	}
+
+	private static ReviewEvent review(int days, int previousLevel, int newLevel) {
+		return new ReviewEvent(1, Instant.EPOCH, previousLevel, newLevel, TODAY.minusDays(days), TODAY);
+	}
+}
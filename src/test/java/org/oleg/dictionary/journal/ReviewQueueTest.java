@@ -0,0 +1,62 @@
+package org.oleg.dictionary.journal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReviewQueueTest {
+
+	@Test
+	void rejectsEventsBeyondTheCapacity() {
+		ReviewQueue queue = new ReviewQueue(2);
+
+		assertTrue(queue.offer(event(1)));
+		assertTrue(queue.offer(event(2)));
+		assertFalse(queue.offer(event(3)));
+		assertEquals(2, queue.size());
+	}
+
+	@Test
+	void drainsInOrderAndFreesCapacity() {
+		ReviewQueue queue = new ReviewQueue(3);
+		for (long id = 1; id <= 3; id++) {
+			queue.offer(event(id));
+		}
+
+		List<ReviewEvent> batch = new ArrayList<>();
+		assertEquals(2, queue.drainTo(batch, 2));
+		assertEquals(List.of(1L, 2L), batch.stream().map(ReviewEvent::wordId).toList());
+		assertEquals(1, queue.size());
+		assertTrue(queue.offer(event(4)));
+	}
+
+	@Test
+	void neverExceedsTheCapacityUnderConcurrentOffers() throws InterruptedException {
+		ReviewQueue queue = new ReviewQueue(1000);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 500; i++) {
+					queue.offer(event(i));
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(1000, queue.size());
+		assertEquals(1000, queue.drainTo(new ArrayList<>(), Integer.MAX_VALUE));
+	}
+
+	private static ReviewEvent event(long wordId) {
+		return new ReviewEvent(wordId, Instant.EPOCH, 1, 2, null, null);
+	}
+}
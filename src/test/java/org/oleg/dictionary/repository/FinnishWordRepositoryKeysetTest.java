@@ -0,0 +1,133 @@
+package org.oleg.dictionary.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordCursor;
+import org.oleg.dictionary.model.WordOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Walks the keyset pages of {@link FinnishWordRepositoryImpl} page by page, passing each cursor through its
+ * request parameter form as a client would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FinnishWordRepositoryKeysetTest {
+
+	private static final int PAGE = 2;
+
+	@Autowired
+	private FinnishWordRepository repository;
+
+	private final List<FinnishWord> words = new ArrayList<>();
+	private Specification<FinnishWord> saved;
+
+	@BeforeEach
+	void saveWords() {
+		LocalDate today = LocalDate.now();
+		// Several words share a repeat date, so the ID decides their order
+		for (int i = 0; i < 9; i++) {
+			words.add(word("sivu" + i, i % 3 == 0 ? null : today.minusDays(i % 2)));
+		}
+		repository.saveAll(words);
+		List<Long> ids = words.stream().map(FinnishWord::getId).toList();
+		saved = (root, query, cb) -> root.get("id").in(ids);
+	}
+
+	@Test
+	void pagesInIdOrder() {
+		List<Long> expected = words.stream().map(FinnishWord::getId).sorted().toList();
+
+		List<Long> actual = new ArrayList<>();
+		WordCursor after = null;
+		List<FinnishWord> page;
+		do {
+			page = repository.findPage(saved, WordOrder.ID, after, PAGE);
+			page.forEach(word -> actual.add(word.getId()));
+			after = page.isEmpty() ? null : roundTrip(WordCursor.after(page.get(page.size() - 1)), WordOrder.ID);
+		} while (page.size() == PAGE);
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void pagesByRepeatDateThenId() {
+		List<Long> expected = words.stream()
+				.filter(word -> word.getDateRepeated() != null)
+				.sorted(Comparator.comparing(FinnishWord::getDateRepeated).thenComparing(FinnishWord::getId))
+				.map(FinnishWord::getId)
+				.toList();
+
+		List<Long> actual = new ArrayList<>();
+		WordCursor after = null;
+		List<FinnishWord> page;
+		do {
+			page = repository.findPage(saved, WordOrder.DATE_REPEATED, after, PAGE);
+			page.forEach(word -> actual.add(word.getId()));
+			after = page.isEmpty() ? null : roundTrip(WordCursor.after(page.get(page.size() - 1)), WordOrder.DATE_REPEATED);
+		} while (page.size() == PAGE);
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void readsOnlyTheSelectedFields() {
+		List<String> fields = List.of("id", "dateRepeated", "word");
+		FinnishWord first = words.stream()
+				.filter(word -> word.getDateRepeated() != null)
+				.min(Comparator.comparing(FinnishWord::getDateRepeated).thenComparing(FinnishWord::getId))
+				.orElseThrow();
+
+		List<Map<String, Object>> rows = repository.findPageFields(saved, fields, WordOrder.DATE_REPEATED, null, PAGE);
+
+		assertEquals(PAGE, rows.size());
+		assertEquals(fields, List.copyOf(rows.get(0).keySet()));
+		assertEquals(first.getId(), rows.get(0).get("id"));
+		assertEquals(first.getWord(), rows.get(0).get("word"));
+
+		// The next page follows the last row in the same order as with full words
+		Map<String, Object> last = rows.get(PAGE - 1);
+		WordCursor after = new WordCursor((LocalDate) last.get("dateRepeated"), (Long) last.get("id"));
+		assertEquals(repository.findPage(saved, WordOrder.DATE_REPEATED, after, PAGE).stream().map(FinnishWord::getId).toList(),
+				repository.findPageFields(saved, fields, WordOrder.DATE_REPEATED, after, PAGE).stream()
+						.map(row -> row.get("id"))
+						.toList());
+	}
+
+	@Test
+	void parsesFormattedCursors() {
+		WordCursor cursor = new WordCursor(LocalDate.of(2024, 2, 29), 42);
+
+		assertEquals("42", cursor.format(WordOrder.ID));
+		assertEquals("2024-02-29,42", cursor.format(WordOrder.DATE_REPEATED));
+		assertEquals(new WordCursor(null, 42), WordCursor.parse("42", WordOrder.ID));
+		assertEquals(cursor, WordCursor.parse("2024-02-29,42", WordOrder.DATE_REPEATED));
+		assertThrows(IllegalArgumentException.class, () -> WordCursor.parse("42", WordOrder.DATE_REPEATED));
+		assertThrows(IllegalArgumentException.class, () -> WordCursor.parse("2024-02-30,42", WordOrder.DATE_REPEATED));
+		assertThrows(IllegalArgumentException.class, () -> WordCursor.parse("x", WordOrder.ID));
+	}
+
+	private static WordCursor roundTrip(WordCursor cursor, WordOrder order) {
+		return WordCursor.parse(cursor.format(order), order);
+	}
+
+	private static FinnishWord word(String text, LocalDate dateRepeated) {
+		FinnishWord word = new FinnishWord();
+		word.setWord(text);
+		word.setDateRepeated(dateRepeated);
+		return word;
+	}
+}
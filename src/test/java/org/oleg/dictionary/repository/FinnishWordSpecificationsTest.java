@@ -0,0 +1,118 @@
+package org.oleg.dictionary.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that {@link FinnishWordSpecifications#matching} selects the same words as the original in-memory filter,
+ * which compared the days since the last repeat and the numbers for equality, the frequency as a maximum and
+ * the texts ignoring case, and never matched a word without a value for a given criterion.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FinnishWordSpecificationsTest {
+
+	@Autowired
+	private FinnishWordRepository repository;
+
+	private final List<FinnishWord> words = new ArrayList<>();
+
+	@BeforeEach
+	void saveWords() {
+		LocalDate today = LocalDate.now();
+		words.add(word("talo", today.minusDays(3), 2, 1, 100, "Kirja", "INFO", "Arki", 0));
+		words.add(word("koti", today.minusDays(3), 2, 2, 500, "kirja", "info", null, 1));
+		words.add(word("kissa", today.minusDays(10), 3, 1, 2000, "KIRJA", "Eläimet", "arki", 0));
+		words.add(word("koira", null, null, null, null, null, null, null, null));
+		words.add(word("puu", today, 2, 3, 100, "Lehti", "Info", "ARKI", 1));
+		repository.saveAll(words);
+	}
+
+	@Test
+	void matchesDaysSinceLastRepeat() {
+		assertSameAsBaseline(new WordFilter(3L, null, null, null, null, null, null, null));
+		assertSameAsBaseline(new WordFilter(0L, null, null, null, null, null, null, null));
+	}
+
+	@Test
+	void matchesNumbersExactly() {
+		assertSameAsBaseline(new WordFilter(null, 2, null, null, null, null, null, null));
+		assertSameAsBaseline(new WordFilter(null, null, 1, null, null, null, null, null));
+		assertSameAsBaseline(new WordFilter(null, null, null, null, null, null, null, 1));
+	}
+
+	@Test
+	void matchesFrequencyAsAMaximum() {
+		assertSameAsBaseline(new WordFilter(null, null, null, 500, null, null, null, null));
+		assertSameAsBaseline(new WordFilter(null, null, null, 99, null, null, null, null));
+	}
+
+	@Test
+	void matchesTextsIgnoringCase() {
+		assertSameAsBaseline(new WordFilter(null, null, null, null, "kIrJa", null, null, null));
+		assertSameAsBaseline(new WordFilter(null, null, null, null, null, "INFO", null, null));
+		assertSameAsBaseline(new WordFilter(null, null, null, null, null, null, "arki", null));
+		assertSameAsBaseline(new WordFilter(null, 2, null, 500, "KIRJA", "Info", "", null));
+	}
+
+	private void assertSameAsBaseline(WordFilter filter) {
+		List<Long> ids = words.stream().map(FinnishWord::getId).toList();
+		Specification<FinnishWord> saved = (root, query, cb) -> root.get("id").in(ids);
+
+		List<String> expected = words.stream().filter(baseline(filter)).map(FinnishWord::getWord).sorted().toList();
+		List<String> actual = repository.findAll(FinnishWordSpecifications.matching(filter).and(saved)).stream()
+				.map(FinnishWord::getWord)
+				.sorted()
+				.toList();
+
+		assertFalse(expected.isEmpty() && filter.frequency() == null, () -> "No word matches " + filter);
+		assertEquals(expected, actual, () -> filter.toString());
+	}
+
+	/**
+	 * The in-memory filter the specification replaced.
+	 */
+	private static Predicate<FinnishWord> baseline(WordFilter filter) {
+		return word -> (filter.daysSinceLastRepeat() == null || filter.daysSinceLastRepeat().equals(word.getDaysSinceLastRepeat()))
+				&& (filter.level() == null || filter.level().equals(word.getLevel()))
+				&& (filter.popularity() == null || filter.popularity().equals(word.getPopularity()))
+				&& (filter.frequency() == null || (word.getFrequency() != null && word.getFrequency() <= filter.frequency()))
+				&& equalsIgnoreCase(filter.source(), word.getSource())
+				&& equalsIgnoreCase(filter.category1(), word.getCategory())
+				&& equalsIgnoreCase(filter.category2(), word.getCategory2())
+				&& (filter.repeatAgain() == null || filter.repeatAgain().equals(word.getRepeatAgain()));
+	}
+
+	private static boolean equalsIgnoreCase(String criterion, String value) {
+		return criterion == null || criterion.isEmpty() || criterion.equalsIgnoreCase(value);
+	}
+
+	private static FinnishWord word(String text, LocalDate dateRepeated, Integer level, Integer popularity,
+			Integer frequency, String source, String category, String category2, Integer repeatAgain) {
+		FinnishWord word = new FinnishWord();
+		word.setWord(text);
+		word.setDateRepeated(dateRepeated);
+		word.setLevel(level);
+		word.setPopularity(popularity);
+		word.setFrequency(frequency);
+		word.setSource(source);
+		word.setCategory(category);
+		word.setCategory2(category2);
+		word.setRepeatAgain(repeatAgain);
+		return word;
+	}
+}
@@ -0,0 +1,147 @@
+package org.oleg.dictionary.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.WordCursor;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.model.WordOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks against PostgreSQL that the SQL Hibernate generates for {@link FinnishWordSpecifications} and the keyset
+ * queries of {@link FinnishWordRepositoryImpl} can be answered from the indexes created by the migrations.
+ * Every query is run through the repository, its SQL is recorded by a {@link StatementInspector} and then explained.
+ * Criteria values are inlined into the SQL so that the planner sees them; only the row limit remains a parameter.
+ * Sequential scans are disabled, so a plan only avoids the table scan if a matching index exists.
+ * <p>
+ * The test needs Docker for the PostgreSQL container and is skipped when Docker is not available,
+ * as in the default build of this sandbox; the indexes are then not checked.
+ * </p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "org.oleg.dictionary.repository.QueryPlanTest$SqlRecorder",
+		"spring.datasource.hikari.connection-init-sql=set enable_seqscan = off"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+	private static final int LIMIT = 100;
+
+	@Container
+	@ServiceConnection
+	private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static boolean loaded;
+
+	@Autowired
+	private FinnishWordRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void loadWords() {
+		if (loaded) {
+			return;
+		}
+		jdbcTemplate.execute("insert into finnish_dictionary (word, translation, level, category, source, date_repeated) "
+				+ "select 'sana' || i, 'word ' || i, i % 10, 'category' || (i % 20), 'source' || (i % 5), "
+				+ "current_date - (i % 365) from generate_series(1, 20000) i");
+		jdbcTemplate.execute("analyze finnish_dictionary");
+		loaded = true;
+	}
+
+	@Test
+	void levelFilterUsesIndex() {
+		repository.findAll(FinnishWordSpecifications.matching(filter(3, null, null)));
+
+		assertUsesIndex("idx_finnish_dictionary_level_date_repeated");
+	}
+
+	@Test
+	void repetitionQueryUsesIndex() {
+		repository.findPage(FinnishWordSpecifications.repeatedOnOrBefore(3, LocalDate.now().minusDays(7)),
+				WordOrder.DATE_REPEATED, null, LIMIT);
+
+		assertUsesIndex("idx_finnish_dictionary_level_date_repeated");
+	}
+
+	@Test
+	void repeatDateKeysetUsesIndex() {
+		repository.findPageFields(FinnishWordSpecifications.matching(filter(null, null, null)), List.of("id"),
+				WordOrder.DATE_REPEATED, new WordCursor(LocalDate.now().minusDays(30), 100), LIMIT);
+
+		assertUsesIndex("idx_finnish_dictionary_date_repeated");
+	}
+
+	@Test
+	void caseInsensitiveFiltersUseIndexes() {
+		repository.findAll(FinnishWordSpecifications.matching(filter(null, "Category3", null)));
+		assertUsesIndex("idx_finnish_dictionary_lower_category");
+
+		repository.findAll(FinnishWordSpecifications.matching(filter(null, null, "Source1")));
+		assertUsesIndex("idx_finnish_dictionary_lower_source");
+	}
+
+	@Test
+	void searchesUseTrigramIndexes() {
+		repository.findPage(FinnishWordSpecifications.wordContains("ana12"), WordOrder.ID, null, LIMIT);
+		assertUsesIndex("idx_finnish_dictionary_word_trgm");
+
+		repository.findPage(FinnishWordSpecifications.wordStartsWith("sana12"), WordOrder.ID, null, LIMIT);
+		assertUsesIndex("idx_finnish_dictionary_word_trgm");
+
+		repository.findPage(FinnishWordSpecifications.translationContains("rd 12"), WordOrder.ID, null, LIMIT);
+		assertUsesIndex("idx_finnish_dictionary_translation_trgm");
+	}
+
+	/**
+	 * Explains the last query sent by Hibernate, binding the row limit to its remaining parameters.
+	 */
+	private void assertUsesIndex(String index) {
+		String sql = SqlRecorder.last;
+		Object[] limits = Collections.nCopies((int) sql.chars().filter(c -> c == '?').count(), LIMIT).toArray();
+		List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class, limits);
+		assertTrue(plan.stream().anyMatch(line -> line.contains(index)), () -> sql + "\n" + String.join("\n", plan));
+	}
+
+	private static WordFilter filter(Integer level, String category, String source) {
+		return new WordFilter(null, level, null, null, source, category, null, null);
+	}
+
+	/**
+	 * Remembers the last SELECT statement prepared by Hibernate.
+	 */
+	public static final class SqlRecorder implements StatementInspector {
+
+		private static volatile String last;
+
+		@Override
+		public String inspect(String sql) {
+			if (sql.regionMatches(true, 0, "select", 0, 6)) {
+				last = sql;
+			}
+			return sql;
+		}
+	}
+}
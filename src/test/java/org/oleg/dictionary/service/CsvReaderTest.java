@@ -0,0 +1,65 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+	@Test
+	void readsPlainAndQuotedFields() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("word,translation\ntalo,\"house, building\"\n"));
+
+		assertEquals(List.of("word", "translation"), reader.readRecord());
+		assertEquals(List.of("talo", "house, building"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void unescapesDoubledQuotes() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("\"sanoa \"\"hei\"\"\",\"\"\"\",\"\"\n"));
+
+		assertEquals(List.of("sanoa \"hei\"", "\"", ""), reader.readRecord());
+	}
+
+	@Test
+	void keepsLineBreaksInQuotedFields() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("kissa,\"first line\nsecond line\r\nthird\"\nkoira,dog"));
+
+		assertEquals(List.of("kissa", "first line\nsecond line\r\nthird"), reader.readRecord());
+		assertEquals(List.of("koira", "dog"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void acceptsCrLfAndCrLineEndings() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("a,b\r\nc,d\re,f\r\n\r\n"));
+
+		assertEquals(List.of("a", "b"), reader.readRecord());
+		assertEquals(List.of("c", "d"), reader.readRecord());
+		assertEquals(List.of("e", "f"), reader.readRecord());
+		// A blank line is a record with one empty field
+		assertEquals(List.of(""), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void keepsEmptyTrailingFields() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("a,,\n"));
+
+		assertEquals(List.of("a", "", ""), reader.readRecord());
+	}
+
+	@Test
+	void rejectsUnterminatedQuotedFields() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("a,\"never closed\nb,c\n"));
+
+		assertThrows(IOException.class, reader::readRecord);
+	}
+}
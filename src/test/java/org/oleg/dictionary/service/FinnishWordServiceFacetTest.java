@@ -0,0 +1,77 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.oleg.dictionary.model.WordFacets;
+import org.oleg.dictionary.model.WordFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts facets with the database query, as when the columnar snapshot is disabled.
+ */
+@SpringBootTest(properties = "dictionary.columnar.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FinnishWordServiceFacetTest {
+
+	@Autowired
+	private FinnishWordService service;
+
+	@Autowired
+	private WordImportService importService;
+
+	@BeforeAll
+	void importWords() throws IOException {
+		String input = """
+				{"word":"a","category":"Facet-DB","category2":"arki","source":"Kirja","level":1,"popularity":3}
+				{"word":"b","category":"facet-db","category2":"Arki","source":"kirja","level":1}
+				{"word":"c","category":"FACET-DB","category2":"työ","source":"lehti","level":2,"popularity":3}
+				{"word":"d","category":"facet-db","source":"Lehti","level":2,"popularity":1}
+				{"word":"e","category":"facet-db","source":"kirja"}
+				{"word":"f","category":"facet-other","category2":"arki","source":"kirja","level":1,"popularity":3}
+				""";
+		importService.importNdjson(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void countsEveryFacetSeparately() {
+		WordFacets facets = service.getFacets(new WordFilter(null, null, null, null, null, "facet-db", null, null));
+
+		assertEquals(5, facets.total());
+		assertEquals(Map.of("facet-db", 5L), facets.category());
+		assertEquals(Map.of("arki", 2L, "työ", 1L), facets.category2());
+		assertEquals(List.of("arki", "työ"), List.copyOf(facets.category2().keySet()));
+		assertEquals(Map.of("kirja", 3L, "lehti", 2L), facets.source());
+		assertEquals(Map.of(1, 2L, 2, 2L), facets.level());
+		assertEquals(Map.of(1, 1L, 3, 2L), facets.popularity());
+	}
+
+	@Test
+	void appliesTheFilterToEveryFacet() {
+		WordFacets facets = service.getFacets(new WordFilter(null, 1, null, null, "KIRJA", null, null, null));
+
+		// Words of other tests may match as well, but at least the two level 1 words from a book of each category
+		assertEquals(facets.total(), facets.level().get(1));
+		assertEquals(facets.total(), facets.source().get("kirja"));
+		assertEquals(2L, facets.category().get("facet-db"));
+		assertEquals(1L, facets.category().get("facet-other"));
+	}
+
+	@Test
+	void countsNothingWithoutMatches() {
+		WordFacets facets = service.getFacets(new WordFilter(null, null, null, null, null, "facet-none", null, null));
+
+		assertEquals(0, facets.total());
+		assertEquals(Map.of(), facets.category());
+		assertEquals(Map.of(), facets.level());
+	}
+}
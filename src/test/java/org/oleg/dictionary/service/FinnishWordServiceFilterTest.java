@@ -0,0 +1,49 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.WordFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class FinnishWordServiceFilterTest {
+
+	private static final WordFilter FILTER = new WordFilter(null, null, null, null, null, "filter-sort", null, null);
+
+	@Autowired
+	private FinnishWordService service;
+
+	@Autowired
+	private WordImportService importService;
+
+	@Test
+	void sortsBySummaryFields() throws IOException {
+		String input = "{\"word\":\"b\",\"category\":\"filter-sort\"}\n{\"word\":\"a\",\"category\":\"filter-sort\"}\n";
+		importService.importNdjson(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+		Page<FinnishWord> page = service.filterWords(FILTER, PageRequest.of(0, 10, Sort.by("word")));
+
+		assertEquals(2, page.getTotalElements());
+		assertEquals("a", page.getContent().get(0).getWord());
+	}
+
+	@Test
+	void rejectsUnknownSortProperties() {
+		// Rejected as a bad request instead of failing in the query
+		assertThrows(IllegalArgumentException.class,
+				() -> service.filterWords(FILTER, PageRequest.of(0, 10, Sort.by("nonexistent"))));
+		assertThrows(IllegalArgumentException.class,
+				() -> service.filterWords(FILTER, PageRequest.of(0, 10, Sort.by("id").and(Sort.by("translation.length")))));
+	}
+}
@@ -0,0 +1,77 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.KeysetPage;
+import org.oleg.dictionary.model.ListOptions;
+import org.oleg.dictionary.model.WordFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FinnishWordServiceKeysetTest {
+
+	private static final WordFilter FILTER = new WordFilter(null, null, null, null, null, "keyset", null, null);
+
+	@Autowired
+	private FinnishWordService service;
+
+	@Autowired
+	private WordImportService importService;
+
+	@BeforeAll
+	void importWords() throws IOException {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 6; i++) {
+			input.append("{\"word\":\"avain").append(i).append("\",\"category\":\"keyset\",\"dateRepeated\":\"2024-03-0")
+					.append(1 + i % 2).append("\",\"translation\":\"key\"}\n");
+		}
+		importService.importNdjson(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void endsWithoutCursorWhenTheLastPageIsFull() {
+		List<Object> items = new ArrayList<>();
+		String after = null;
+		int pages = 0;
+		do {
+			KeysetPage<?> page = service.filterWords(FILTER, new ListOptions(after, "dateRepeated", 3, null));
+			items.addAll(page.items());
+			after = page.next();
+			pages++;
+		} while (after != null);
+
+		assertEquals(2, pages);
+		List<String> words = items.stream().map(item -> ((FinnishWord) item).getWord()).toList();
+		assertEquals(List.of("avain0", "avain2", "avain4", "avain1", "avain3", "avain5"), words);
+	}
+
+	@Test
+	void returnsSelectedFieldsWithACursor() {
+		KeysetPage<?> first = service.filterWords(FILTER, new ListOptions(null, "dateRepeated", 4, "summary"));
+
+		assertEquals(4, first.items().size());
+		assertNotNull(first.next());
+		Map<?, ?> row = (Map<?, ?>) first.items().get(0);
+		assertEquals("avain0", row.get("word"));
+		assertEquals(ListOptions.SUMMARY_FIELDS.size(), row.size());
+
+		KeysetPage<?> last = service.filterWords(FILTER, new ListOptions(first.next(), "dateRepeated", 4, "summary"));
+		assertEquals(2, last.items().size());
+		assertNull(last.next());
+	}
+}
@@ -0,0 +1,71 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.oleg.dictionary.model.FinnishWord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Looks up forms in the database, as while the form index is loading or when it is disabled.
+ */
+@SpringBootTest(properties = "dictionary.lookup.index.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FinnishWordServiceLookupTest {
+
+	private static final int SYNONYMS = 1500;
+
+	@Autowired
+	private FinnishWordService service;
+
+	@Autowired
+	private WordImportService importService;
+
+	@BeforeAll
+	void importWords() throws IOException {
+		StringBuilder input = new StringBuilder();
+		// More synonym matches than one page, all with lower IDs than the headwords
+		for (int i = 0; i < SYNONYMS; i++) {
+			input.append("{\"word\":\"lookup-synonym-").append(i).append("\",\"synonyms\":\"kieli, puhe\"}\n");
+		}
+		input.append("{\"word\":\"kielioppi\"}\n");
+		for (int i = 0; i < 3; i++) {
+			input.append("{\"word\":\"kieli\",\"wordFormation\":\"kielen, kielessä\",\"comment\":\"headword ")
+					.append(i).append("\"}\n");
+		}
+		importService.importNdjson(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void returnsHeadwordsBeforeSynonymsAcrossPages() {
+		List<FinnishWord> words = service.lookupForm("kieli", true, 5);
+
+		assertEquals(5, words.size());
+		assertTrue(words.subList(0, 3).stream().allMatch(word -> word.getWord().equals("kieli")));
+		assertTrue(words.subList(3, 5).stream().allMatch(word -> word.getWord().startsWith("lookup-synonym-")));
+	}
+
+	@Test
+	void stopsAtTheLimit() {
+		List<FinnishWord> words = service.lookupForm("KIELESSÄ", false, 2);
+
+		assertEquals(2, words.size());
+		assertTrue(words.stream().allMatch(word -> word.getWord().equals("kieli")));
+	}
+
+	@Test
+	void ignoresFormsThatAreOnlyPartOfAToken() {
+		List<FinnishWord> words = service.lookupForm("kieli", false, 100);
+
+		assertEquals(3, words.size());
+	}
+}
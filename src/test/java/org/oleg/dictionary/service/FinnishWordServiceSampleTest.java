@@ -0,0 +1,93 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.SampleWeight;
+import org.oleg.dictionary.model.WordFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FinnishWordServiceSampleTest {
+
+	private static final int COMMON = 18_000;
+	private static final int SELECTIVE = 2_000;
+	private static final int RARE = 40;
+
+	@Autowired
+	private FinnishWordService service;
+
+	@Autowired
+	private WordImportService importService;
+
+	@BeforeAll
+	void importWords() throws IOException {
+		StringBuilder input = new StringBuilder();
+		append(input, "sample-common", COMMON);
+		append(input, "sample-selective", SELECTIVE);
+		append(input, "sample-rare", RARE);
+		importService.importNdjson(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void drawsTheFullSizeFromASelectiveFilter() {
+		List<FinnishWord> sample = service.sampleWords(category("sample-selective"), 1000, SampleWeight.NONE, 42L);
+
+		assertEquals(1000, sample.size());
+		assertEquals(1000, sample.stream().map(FinnishWord::getId).distinct().count());
+		assertTrue(sample.stream().allMatch(word -> "sample-selective".equals(word.getCategory())));
+	}
+
+	@Test
+	void returnsAllMatchesWhenFewerThanTheSizeMatch() {
+		List<FinnishWord> sample = service.sampleWords(category("sample-rare"), 1000, SampleWeight.NONE, 42L);
+
+		assertEquals(RARE, sample.size());
+		assertEquals(RARE, sample.stream().map(FinnishWord::getId).distinct().count());
+		// Full words are returned, not only the fields used for the weights
+		assertTrue(sample.stream().allMatch(word -> word.getWord().startsWith("sample-rare-")));
+	}
+
+	@Test
+	void readsMatchesFromTheDatabaseWhenRandomDrawsFindTooFew() {
+		// A small sample draws too few IDs to find the rare words, so they are read from windows in ID order
+		List<FinnishWord> sample = service.sampleWords(category("sample-rare"), 20, SampleWeight.AGE, 3L);
+
+		assertEquals(20, sample.size());
+		assertEquals(20, sample.stream().map(FinnishWord::getId).distinct().count());
+		assertTrue(sample.stream().allMatch(word -> "sample-rare".equals(word.getCategory())));
+	}
+
+	@Test
+	void sameSeedReturnsTheSameSample() {
+		WordFilter filter = category("sample-common");
+
+		List<FinnishWord> first = service.sampleWords(filter, 1000, SampleWeight.NONE, 7L);
+		List<FinnishWord> second = service.sampleWords(filter, 1000, SampleWeight.NONE, 7L);
+
+		assertEquals(first.stream().map(FinnishWord::getId).toList(),
+				second.stream().map(FinnishWord::getId).toList());
+	}
+
+	private static void append(StringBuilder input, String category, int count) {
+		for (int i = 0; i < count; i++) {
+			input.append("{\"word\":\"").append(category).append('-').append(i)
+					.append("\",\"category\":\"").append(category).append("\",\"level\":1}\n");
+		}
+	}
+
+	private static WordFilter category(String category) {
+		return new WordFilter(null, null, null, null, null, category, null, null);
+	}
+}
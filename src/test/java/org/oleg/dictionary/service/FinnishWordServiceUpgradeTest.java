@@ -0,0 +1,102 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.LevelChange;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.repository.FinnishWordRepository;
+import org.oleg.dictionary.repository.FinnishWordSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class FinnishWordServiceUpgradeTest {
+
+	private static final int WORDS = 50;
+	private static final int THREADS = 8;
+	private static final int UPGRADES = 20;
+
+	@Autowired
+	private FinnishWordService service;
+
+	@Autowired
+	private WordImportService importService;
+
+	@Autowired
+	private FinnishWordRepository repository;
+
+	@Test
+	void concurrentUpgradesInDifferentOrdersLoseNoIncrements() throws IOException, InterruptedException {
+		List<Long> ids = importWords("upgrade-concurrent");
+		LocalDate today = LocalDate.now();
+
+		// Every thread upgrades all words, each time in a different order
+		ConcurrentLinkedQueue<RuntimeException> errors = new ConcurrentLinkedQueue<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			Random random = new Random(t);
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < UPGRADES; i++) {
+					List<Long> shuffled = new ArrayList<>(ids);
+					Collections.shuffle(shuffled, random);
+					try {
+						service.upgradeWords(shuffled, today);
+					} catch (RuntimeException e) {
+						errors.add(e);
+					}
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(errors.isEmpty(), () -> "Upgrades failed: " + errors);
+		for (FinnishWord word : repository.findAllById(ids)) {
+			assertEquals(THREADS * UPGRADES, word.getLevel(), () -> "Level of " + word.getWord());
+		}
+	}
+
+	@Test
+	void reportsTheChangesInIdOrder() throws IOException {
+		List<Long> ids = importWords("upgrade-order");
+		List<Long> reversed = new ArrayList<>(ids);
+		Collections.reverse(reversed);
+
+		List<LevelChange> changes = service.upgradeWords(reversed, LocalDate.now());
+
+		assertEquals(ids, changes.stream().map(LevelChange::id).toList());
+		assertTrue(changes.stream().allMatch(change -> change.newLevel() == 1));
+	}
+
+	/**
+	 * Imports words without a level in a new category and returns their IDs in ascending order.
+	 */
+	private List<Long> importWords(String category) throws IOException {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < WORDS; i++) {
+			input.append("{\"word\":\"").append(category).append('-').append(i)
+					.append("\",\"category\":\"").append(category).append("\"}\n");
+		}
+		importService.importNdjson(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)));
+		WordFilter filter = new WordFilter(null, null, null, null, null, category, null, null);
+		return repository.findAll(FinnishWordSpecifications.matching(filter)).stream()
+				.map(FinnishWord::getId)
+				.sorted()
+				.toList();
+	}
+}
@@ -0,0 +1,125 @@
+package org.oleg.dictionary.service;
+
+import org.junit.jupiter.api.Test;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.model.ImportReport;
+import org.oleg.dictionary.model.WordFilter;
+import org.oleg.dictionary.repository.FinnishWordRepository;
+import org.oleg.dictionary.repository.FinnishWordSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"dictionary.import.batch-size=3", "dictionary.import.max-errors=2"})
+class WordImportServiceTest {
+
+	@Autowired
+	private WordImportService importService;
+
+	@Autowired
+	private FinnishWordRepository repository;
+
+	@Test
+	void importsCsvAcrossBatches() throws IOException {
+		StringBuilder csv = new StringBuilder("word,translation,category,level,date_repeated\r\n");
+		for (int i = 1; i <= 7; i++) {
+			csv.append("sana").append(i).append(",\"word ").append(i).append(", \"\"quoted\"\"\nsecond line\",")
+					.append("import-csv,").append(i).append(",2024-01-0").append(i).append("\r\n");
+		}
+
+		ImportReport report = importService.importCsv(input(csv.toString()));
+
+		assertEquals(new ImportReport(7, 0, List.of(), false), report);
+		List<FinnishWord> words = words("import-csv");
+		assertEquals(7, words.size());
+		FinnishWord last = words.get(6);
+		assertEquals("sana7", last.getWord());
+		assertEquals("word 7, \"quoted\"\nsecond line", last.getTranslation());
+		assertEquals(7, last.getLevel());
+		assertEquals(LocalDate.of(2024, 1, 7), last.getDateRepeated());
+	}
+
+	@Test
+	void reportsInvalidCsvRecordsAndImportsTheRest() throws IOException {
+		String csv = "word,category,level\n"
+				+ "hyvä1,import-csv-errors,1\n"
+				+ "\n"
+				+ ",import-csv-errors,1\n"
+				+ "hyvä2,import-csv-errors,-1\n"
+				+ "hyvä3,import-csv-errors\n"
+				+ "hyvä4,import-csv-errors,x\n"
+				+ "hyvä5,import-csv-errors,5\n";
+
+		ImportReport report = importService.importCsv(input(csv));
+
+		assertEquals(2, report.imported());
+		assertEquals(4, report.failed());
+		// Only the first two errors are reported; the blank record is skipped but counted
+		assertEquals(List.of(new ImportReport.RowError(3, "word is required"),
+				new ImportReport.RowError(4, "level must not be negative")), report.errors());
+		assertTrue(report.errorsTruncated());
+		assertEquals(List.of("hyvä1", "hyvä5"), words("import-csv-errors").stream().map(FinnishWord::getWord).toList());
+	}
+
+	@Test
+	void rejectsUnknownCsvColumns() {
+		assertThrows(IllegalArgumentException.class, () -> importService.importCsv(input("word,colour\nauto,red\n")));
+	}
+
+	@Test
+	void reportsNdjsonLineNumbers() throws IOException {
+		String ndjson = "{\"word\":\"yksi\",\"category\":\"import-ndjson\"}\n"
+				+ "\n"
+				+ "   \n"
+				+ "{\"word\":\"\",\"category\":\"import-ndjson\"}\n"
+				+ "{\"word\":\"kaksi\",\"category\":\"import-ndjson\"}\n"
+				+ "{not json}\n";
+
+		ImportReport report = importService.importNdjson(input(ndjson));
+
+		assertEquals(2, report.imported());
+		assertEquals(2, report.failed());
+		assertEquals(List.of(4L, 6L), report.errors().stream().map(ImportReport.RowError::row).toList());
+		assertFalse(report.errorsTruncated());
+	}
+
+	@Test
+	void writesEveryRowOfFullAndPartialBatches() throws IOException {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			ndjson.append("{\"word\":\"rivi").append(i).append("\",\"category\":\"import-batches\"}\n");
+		}
+
+		ImportReport report = importService.importNdjson(input(ndjson.toString()));
+
+		assertEquals(10, report.imported());
+		List<FinnishWord> words = words("import-batches");
+		assertEquals(10, words.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals("rivi" + i, words.get(i).getWord());
+		}
+	}
+
+	private List<FinnishWord> words(String category) {
+		WordFilter filter = new WordFilter(null, null, null, null, null, category, null, null);
+		return repository.findAll(FinnishWordSpecifications.matching(filter)).stream()
+				.sorted(Comparator.comparing(FinnishWord::getId))
+				.toList();
+	}
+
+	private static InputStream input(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
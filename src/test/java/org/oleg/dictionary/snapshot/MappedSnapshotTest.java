@@ -0,0 +1,89 @@
+package org.oleg.dictionary.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oleg.dictionary.model.FinnishWord;
+import org.oleg.dictionary.repository.TableFingerprint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedSnapshotTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readsBackWhatWasWritten() throws IOException {
+		Path file = directory.resolve("dictionary.snapshot");
+		SnapshotWriter writer = new SnapshotWriter();
+		writer.add(word(3L, "kissa", "cat", "noun", 2, LocalDate.of(2024, 5, 1), 4L));
+		writer.add(word(7L, "juosta", "to run", "verb", null, null, 0L));
+		writer.add(word(12L, "pöytä", "table", "noun", 1, LocalDate.of(2024, 4, 2), 1L));
+		writer.write(file);
+
+		MappedSnapshot snapshot = MappedSnapshot.open(file);
+
+		assertEquals(3, snapshot.size());
+		assertEquals(new TableFingerprint(3, 12, 5), snapshot.fingerprint());
+		FinnishWord word = snapshot.find(12L).orElseThrow();
+		assertEquals("pöytä", word.getWord());
+		assertEquals("table", word.getTranslation());
+		assertEquals("noun", word.getCategory());
+		assertEquals(1, word.getLevel());
+		assertEquals(LocalDate.of(2024, 4, 2), word.getDateRepeated());
+		assertEquals(1L, word.getVersion());
+		assertNull(word.getComment());
+
+		FinnishWord unstudied = snapshot.find(7L).orElseThrow();
+		assertNull(unstudied.getLevel());
+		assertNull(unstudied.getDateRepeated());
+
+		assertTrue(snapshot.find(5L).isEmpty());
+		assertEquals(List.of(12L, 3L), snapshot.findAll(List.of(12L, 5L, 3L)).stream().map(FinnishWord::getId).toList());
+		assertEquals("verb", snapshot.value(snapshot.indexOf(7L), "category"));
+		assertEquals(List.of(3L, 7L, 12L), snapshot.words().map(FinnishWord::getId).toList());
+	}
+
+	@Test
+	void rejectsWordsOutOfOrder() {
+		SnapshotWriter writer = new SnapshotWriter();
+		writer.add(word(5L, "talo", "house", null, null, null, 0L));
+
+		assertThrows(IllegalArgumentException.class, () -> writer.add(word(5L, "talo", "house", null, null, null, 0L)));
+	}
+
+	@Test
+	void rejectsTruncatedFiles() throws IOException {
+		Path file = directory.resolve("dictionary.snapshot");
+		SnapshotWriter writer = new SnapshotWriter();
+		writer.add(word(1L, "vesi", "water", "noun", 1, null, 0L));
+		writer.write(file);
+		byte[] content = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(content, content.length - 1));
+
+		assertThrows(IOException.class, () -> MappedSnapshot.open(file));
+	}
+
+	private static FinnishWord word(Long id, String text, String translation, String category, Integer level,
+									LocalDate dateRepeated, Long version) {
+		FinnishWord word = new FinnishWord();
+		word.setId(id);
+		word.setWord(text);
+		word.setTranslation(translation);
+		word.setCategory(category);
+		word.setLevel(level);
+		word.setDateRepeated(dateRepeated);
+		word.setVersion(version);
+		return word;
+	}
+}